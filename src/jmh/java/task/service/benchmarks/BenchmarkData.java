@@ -0,0 +1,82 @@
+package task.service.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import task.service.json.JsonCustomizer;
+import task.service.models.Note;
+import task.service.models.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fixtures shaped like stored items, with text lengths close to what clients send.
+ */
+public final class BenchmarkData
+{
+    BenchmarkData()
+    {
+    }
+
+    public static final String DESCRIPTION = "Pick up the parcel at the post office before six, the notice is on the "
+            + "fridge. Bring an id and the reference number, and ask whether they can hold the second parcel until "
+            + "Monday.";
+
+    /**
+     * Configured like the application mapper, see quarkus.jackson in application.yml and JsonCustomizer.
+     */
+    public static ObjectMapper objectMapper()
+    {
+        return JsonCustomizer.configure(plainObjectMapper());
+    }
+
+    /**
+     * The mapper before the response serializers, the baseline they are measured against.
+     */
+    public static ObjectMapper plainObjectMapper()
+    {
+        return new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+    }
+
+    public static List<Task> tasks(final int size)
+    {
+        var userUid = UUID.randomUUID().toString();
+        var tasks = new ArrayList<Task>(size);
+        for (var i = 0; i < size; i++)
+        {
+            var task = new Task();
+            task.setUid(UUID.randomUUID().toString());
+            task.setUserUid(userUid);
+            task.setType("task");
+            task.setTitle("Task number " + i);
+            task.setDescription(DESCRIPTION);
+            task.setPriority(i % 5 == 0);
+            task.setCompleted(i % 3 == 0);
+            task.setCreatedAt(1_700_000_000_000L + i);
+            task.setUpdatedAt(1_700_000_000_000L + i);
+            task.setCompletedAt(i % 3 == 0 ? 1_700_000_000_000L + i : null);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    public static List<Note> notes(final int size)
+    {
+        var userUid = UUID.randomUUID().toString();
+        var notes = new ArrayList<Note>(size);
+        for (var i = 0; i < size; i++)
+        {
+            var note = new Note();
+            note.setUid(UUID.randomUUID().toString());
+            note.setUserUid(userUid);
+            note.setType("note");
+            note.setTitle("Note number " + i);
+            note.setText(DESCRIPTION);
+            note.setCreatedAt(1_700_000_000_000L + i);
+            note.setUpdatedAt(1_700_000_000_000L + i);
+            notes.add(note);
+        }
+        return notes;
+    }
+}
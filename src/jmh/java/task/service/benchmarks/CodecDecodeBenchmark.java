@@ -0,0 +1,87 @@
+package task.service.benchmarks;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.pojo.PojoCodecProvider;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import task.service.codecs.NoteCodec;
+import task.service.codecs.TaskCodec;
+import task.service.models.Note;
+import task.service.models.Task;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding one stored item with the reflective POJO codec, configured like the Quarkus Mongo extension does, against
+ * the hand written codecs. A list read decodes one document per item, so the gap scales with the list size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CodecDecodeBenchmark
+{
+    @Param({ "task", "note" })
+    String type;
+
+    private final DecoderContext decoderContext = DecoderContext.builder().build();
+    private Codec<?> pojoCodec;
+    private Codec<?> itemCodec;
+    private byte[] document;
+
+    @Setup
+    public void setup()
+    {
+        var pojoRegistry = CodecRegistries.fromRegistries(MongoClientSettings.getDefaultCodecRegistry(),
+                CodecRegistries.fromProviders(PojoCodecProvider.builder().automatic(true).build()));
+
+        if ("task".equals(type))
+        {
+            var task = BenchmarkData.tasks(1).get(0);
+            task.setId(new ObjectId().toHexString());
+            pojoCodec = pojoRegistry.get(Task.class);
+            itemCodec = new TaskCodec();
+            document = encode(new TaskCodec(), task);
+        } else
+        {
+            var note = BenchmarkData.notes(1).get(0);
+            note.setId(new ObjectId().toHexString());
+            pojoCodec = pojoRegistry.get(Note.class);
+            itemCodec = new NoteCodec();
+            document = encode(new NoteCodec(), note);
+        }
+    }
+
+    @Benchmark
+    public Object pojoCodec()
+    {
+        return pojoCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(document)), decoderContext);
+    }
+
+    @Benchmark
+    public Object itemCodec()
+    {
+        return itemCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(document)), decoderContext);
+    }
+
+    private static <T> byte[] encode(final Codec<T> codec, final T item)
+    {
+        var buffer = new BasicOutputBuffer();
+        codec.encode(new BsonBinaryWriter(buffer), item, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,62 @@
+package task.service.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.ws.rs.core.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import task.service.utils.ResponseUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a list response, envelope included. The output goes to a null stream like the server writes to
+ * the connection, so the numbers hold no buffer copies. writeMapEnvelope is the former map envelope through bean
+ * serialization, run with -prof gc to compare the bytes allocated per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnvelopeSerializationBenchmark
+{
+    @Param({ "10", "1000", "10000" })
+    int size;
+
+    @Param({ "task", "note" })
+    String type;
+
+    private ObjectWriter writer;
+    private ObjectWriter plainWriter;
+    private List<?> items;
+    private OutputStream sink;
+
+    @Setup
+    public void setup()
+    {
+        writer = BenchmarkData.objectMapper().writer();
+        plainWriter = BenchmarkData.plainObjectMapper().writer();
+        items = "task".equals(type) ? BenchmarkData.tasks(size) : BenchmarkData.notes(size);
+        sink = OutputStream.nullOutputStream();
+    }
+
+    @Benchmark
+    public void writeEnvelope() throws IOException
+    {
+        writer.writeValue(sink, ResponseUtils.successEnvelope(Response.Status.OK, items));
+    }
+
+    @Benchmark
+    public void writeMapEnvelope() throws IOException
+    {
+        plainWriter.writeValue(sink, Map.of("status", "success", "code", 200, "data", items));
+    }
+}
@@ -0,0 +1,65 @@
+package task.service.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import task.service.models.payloads.NotePayload;
+import task.service.models.payloads.TaskPayload;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request side of a write, reading the payload and validating it the way the resources do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadBenchmark
+{
+    private ObjectReader taskReader;
+    private ObjectReader noteReader;
+    private byte[] taskJson;
+    private byte[] taskUpdateJson;
+    private byte[] noteJson;
+
+    @Setup
+    public void setup()
+    {
+        var mapper = BenchmarkData.objectMapper();
+        taskReader = mapper.readerFor(TaskPayload.class);
+        noteReader = mapper.readerFor(NotePayload.class);
+        taskJson = ("{\"title\":\"Parcel\",\"description\":\"" + BenchmarkData.DESCRIPTION
+                + "\",\"priority\":true,\"completed\":false}").getBytes(StandardCharsets.UTF_8);
+        taskUpdateJson = "{\"completed\":true}".getBytes(StandardCharsets.UTF_8);
+        noteJson = ("{\"title\":\"Parcel\",\"text\":\"" + BenchmarkData.DESCRIPTION + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public boolean createTask() throws IOException
+    {
+        TaskPayload payload = taskReader.readValue(taskJson);
+        return payload.isValidForCreate();
+    }
+
+    @Benchmark
+    public boolean updateTask() throws IOException
+    {
+        TaskPayload payload = taskReader.readValue(taskUpdateJson);
+        return payload.isValidForUpdate();
+    }
+
+    @Benchmark
+    public boolean createNote() throws IOException
+    {
+        NotePayload payload = noteReader.readValue(noteJson);
+        return payload.isValidForCreate();
+    }
+}
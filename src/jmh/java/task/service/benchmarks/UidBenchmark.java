@@ -0,0 +1,33 @@
+package task.service.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every create draws a uid from the shared SecureRandom behind UUID.randomUUID, the contended run shows what that
+ * costs when all cores create at once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UidBenchmark
+{
+    @Benchmark
+    @Threads(1)
+    public String randomUid()
+    {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String randomUidContended()
+    {
+        return UUID.randomUUID().toString();
+    }
+}
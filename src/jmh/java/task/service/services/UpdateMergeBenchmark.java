@@ -0,0 +1,48 @@
+package task.service.services;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import task.service.benchmarks.BenchmarkData;
+import task.service.models.payloads.NotePayload;
+import task.service.models.payloads.TaskPayload;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the pipeline update that merges a payload into an item in the database, shared by the blocking and the
+ * reactive stack. Lives in the services package since the update builders are package private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UpdateMergeBenchmark
+{
+    private TaskPayload taskPayload;
+    private NotePayload notePayload;
+
+    @Setup
+    public void setup()
+    {
+        taskPayload = new TaskPayload("Parcel", BenchmarkData.DESCRIPTION, true, true);
+        notePayload = new NotePayload("Parcel", BenchmarkData.DESCRIPTION);
+    }
+
+    @Benchmark
+    public List<Document> buildTaskUpdate()
+    {
+        return TaskService.buildTaskUpdate(taskPayload, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public List<Document> buildNoteUpdate()
+    {
+        return NoteService.buildNoteUpdate(notePayload, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,60 @@
+package task.service.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+
+/**
+ * Raises the number of concurrent in-flight requests step by step against one running instance and reports the
+ * highest level that still meets the latency and error budget. Run it once against an instance started with
+ * VIRTUAL_THREADS_ENABLED=true and once with false, using loadtest.label to tell the runs apart.
+ */
+public final class ConcurrencySweep
+{
+    ConcurrencySweep()
+    {
+    }
+
+    public static void main(final String[] args) throws InterruptedException
+    {
+        var baseUrl = Settings.string("baseUrl", "http://localhost:8080");
+        var userUid = Settings.string("userUid", "loadtest-user");
+        var path = Settings.string("path", "/task/all/%s");
+        var label = Settings.string("label", "unlabeled");
+        var levels = Arrays.stream(Settings.string("levels", "50,100,200,400,800,1600,3200").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+        var step = Settings.seconds("duration", 20);
+        var p99BudgetMillis = Settings.integer("p99BudgetMillis", 500);
+        var errorBudgetPercent = Settings.integer("errorBudgetPercent", 1);
+
+        var driver = new LoadDriver(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build());
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + String.format(path, userUid)))
+                .header(LoadDriver.CALLER_HEADER, userUid).GET().build();
+
+        System.out.printf("mode: %s, endpoint: %s%n", label, path);
+        System.out.printf("%10s %12s %9s %9s %9s%n", "in-flight", "req/s", "p50 ms", "p99 ms", "errors %");
+
+        var sustained = 0;
+
+        for (var level : levels)
+        {
+            var result = driver.run(() -> request, level, step);
+            var errorPercent = result.requests() == 0 ? 100.0 : 100.0 * result.errors() / result.requests();
+            var p99 = result.percentileMillis(0.99);
+
+            System.out.printf("%10d %12.1f %9.2f %9.2f %9.2f%n", level, result.throughput(),
+                    result.percentileMillis(0.5), p99, errorPercent);
+
+            if (p99 > p99BudgetMillis || errorPercent > errorBudgetPercent)
+            {
+                break;
+            }
+
+            sustained = level;
+        }
+
+        System.out.printf("%s sustains %d concurrent in-flight requests (p99 <= %d ms, errors <= %d%%)%n", label,
+                sustained, p99BudgetMillis, errorBudgetPercent);
+    }
+}
@@ -0,0 +1,143 @@
+package task.service.loadtest;
+
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Writes users straight into the database, which is far faster than creating 50k tasks over HTTP. Item counts per
+ * regular user follow an exponential distribution around the configured mean, like real accounts where most users
+ * keep a few items and some keep hundreds, and a handful of heavy users hold the configured large lists.
+ */
+final class DataSeeder
+{
+    private static final int INSERT_BATCH = 1000;
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private final Random random;
+    private final long now = System.currentTimeMillis();
+
+    DataSeeder(final long seed)
+    {
+        this.random = new Random(seed);
+    }
+
+    SeededUsers seed(final String mongoUrl, final String database, final int regularUsers, final int meanTasks,
+            final int meanNotes, final int heavyUsers, final int heavyTasks, final double heavyShare)
+    {
+        try (var client = MongoClients.create(mongoUrl))
+        {
+            var db = client.getDatabase(database);
+            var tasks = db.getCollection("tasks");
+            var notes = db.getCollection("notes");
+
+            var regular = new ArrayList<SeededUsers.User>();
+            var heavy = new ArrayList<SeededUsers.User>();
+            var deletableTasks = new ArrayList<SeededUsers.Deletable>();
+            var deletableNotes = new ArrayList<SeededUsers.Deletable>();
+
+            for (var i = 0; i < regularUsers; i++)
+            {
+                regular.add(seedUser(tasks, notes, exponential(meanTasks), exponential(meanNotes), deletableTasks,
+                        deletableNotes));
+            }
+
+            for (var i = 0; i < heavyUsers; i++)
+            {
+                heavy.add(seedUser(tasks, notes, heavyTasks, heavyTasks / 10, deletableTasks, deletableNotes));
+            }
+
+            var users = new SeededUsers(regular, heavy, heavyShare);
+            users.deletableTasks().addAll(deletableTasks);
+            users.deletableNotes().addAll(deletableNotes);
+            return users;
+        }
+    }
+
+    private SeededUsers.User seedUser(final MongoCollection<Document> tasks, final MongoCollection<Document> notes,
+            final int taskCount, final int noteCount, final List<SeededUsers.Deletable> deletableTasks,
+            final List<SeededUsers.Deletable> deletableNotes)
+    {
+        var userUid = UUID.randomUUID().toString();
+        var taskUids = insert(tasks, taskCount, userUid, deletableTasks, uid -> task(uid, userUid));
+        var noteUids = insert(notes, noteCount, userUid, deletableNotes, uid -> note(uid, userUid));
+        return new SeededUsers.User(userUid, taskUids, noteUids);
+    }
+
+    /**
+     * Inserts {@code count} items, every fifth goes to the delete queue and the rest is returned for updates.
+     */
+    private List<String> insert(final MongoCollection<Document> collection, final int count, final String userUid,
+            final List<SeededUsers.Deletable> deletable, final Function<String, Document> item)
+    {
+        var updatable = new ArrayList<String>(count);
+        var batch = new ArrayList<Document>(Math.min(count, INSERT_BATCH));
+
+        for (var i = 0; i < count; i++)
+        {
+            var uid = UUID.randomUUID().toString();
+            batch.add(item.apply(uid));
+
+            if (i % 5 == 4)
+            {
+                deletable.add(new SeededUsers.Deletable(userUid, uid));
+            } else
+            {
+                updatable.add(uid);
+            }
+
+            if (batch.size() == INSERT_BATCH)
+            {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty())
+        {
+            collection.insertMany(batch);
+        }
+
+        return updatable;
+    }
+
+    private Document task(final String uid, final String userUid)
+    {
+        var createdAt = createdAt();
+        var completed = random.nextInt(3) == 0;
+        return new Document("uid", uid).append("userUid", userUid).append("type", "task")
+                .append("title", "Seeded task " + uid.substring(0, 8)).append("description", text())
+                .append("priority", random.nextInt(5) == 0).append("completed", completed)
+                .append("createdAt", createdAt).append("updatedAt", createdAt)
+                .append("completedAt", completed ? createdAt : null);
+    }
+
+    private Document note(final String uid, final String userUid)
+    {
+        var createdAt = createdAt();
+        return new Document("uid", uid).append("userUid", userUid).append("type", "note")
+                .append("title", "Seeded note " + uid.substring(0, 8)).append("text", text())
+                .append("createdAt", createdAt).append("updatedAt", createdAt);
+    }
+
+    private long createdAt()
+    {
+        return now - (long) (random.nextDouble() * 90 * DAY_MILLIS);
+    }
+
+    private String text()
+    {
+        return "x".repeat(20 + random.nextInt(300));
+    }
+
+    private int exponential(final int mean)
+    {
+        return (int) Math.round(-mean * Math.log(1 - random.nextDouble()));
+    }
+}
@@ -0,0 +1,57 @@
+package task.service.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects raw latency samples of one worker, merged after the run so recording needs no synchronization.
+ */
+final class LatencyRecorder
+{
+    private long[] samples = new long[4096];
+    private int count;
+    private boolean sorted;
+
+    void record(final long nanos)
+    {
+        if (count == samples.length)
+        {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+
+        samples[count++] = nanos;
+        sorted = false;
+    }
+
+    void addAll(final LatencyRecorder other)
+    {
+        for (var i = 0; i < other.count; i++)
+        {
+            record(other.samples[i]);
+        }
+    }
+
+    int count()
+    {
+        return count;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds, {@code quantile} between 0 and 1.
+     */
+    double percentileMillis(final double quantile)
+    {
+        if (count == 0)
+        {
+            return 0;
+        }
+
+        if (!sorted)
+        {
+            Arrays.sort(samples, 0, count);
+            sorted = true;
+        }
+
+        var rank = (int) Math.ceil(quantile * count) - 1;
+        return samples[Math.max(0, Math.min(rank, count - 1))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,142 @@
+package task.service.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Closed loop load generator: every worker sends its next request as soon as the previous one completed, so the
+ * concurrency equals the number of requests in flight.
+ */
+final class LoadDriver
+{
+    /**
+     * Admission control limits the requests in flight per caller, named by this header.
+     */
+    static final String CALLER_HEADER = "X-Caller-Id";
+
+    private static final String SINGLE_OPERATION = "request";
+
+    private final HttpClient client;
+
+    LoadDriver(final HttpClient client)
+    {
+        this.client = client;
+    }
+
+    LoadResult run(final Supplier<HttpRequest> requests, final int concurrency, final Duration duration)
+            throws InterruptedException
+    {
+        return runMixed(() -> new LoadOperation(SINGLE_OPERATION, requests.get()), concurrency, duration);
+    }
+
+    /**
+     * Same as {@link #run} for a mix of operations, the result holds the totals and one result per operation name.
+     */
+    LoadResult runMixed(final Supplier<LoadOperation> operations, final int concurrency, final Duration duration)
+            throws InterruptedException
+    {
+        // virtual threads keep thousands of in-flight requests cheap on the driver side
+        var executor = Executors.newVirtualThreadPerTaskExecutor();
+        var workers = new ArrayList<Callable<Worker>>();
+
+        var start = System.nanoTime();
+        var deadline = start + duration.toNanos();
+
+        for (var i = 0; i < concurrency; i++)
+        {
+            workers.add(() -> new Worker().run(operations, deadline));
+        }
+
+        var total = new Tally();
+        var byOperation = new HashMap<String, Tally>();
+
+        try
+        {
+            for (var future : executor.invokeAll(workers))
+            {
+                for (var entry : future.get().tallies.entrySet())
+                {
+                    total.addAll(entry.getValue());
+                    byOperation.computeIfAbsent(entry.getKey(), name -> new Tally()).addAll(entry.getValue());
+                }
+            }
+        } catch (final ExecutionException e)
+        {
+            throw new IllegalStateException("Load worker failed", e.getCause());
+        } finally
+        {
+            executor.shutdownNow();
+        }
+
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        var operationResults = new HashMap<String, LoadResult>();
+        byOperation.forEach((name, tally) -> operationResults.put(name, tally.toResult(elapsed, Map.of())));
+
+        return total.toResult(elapsed, operationResults);
+    }
+
+    private static final class Tally
+    {
+        private final LatencyRecorder latencies = new LatencyRecorder();
+        private long sent;
+        private long errors;
+
+        void addAll(final Tally other)
+        {
+            latencies.addAll(other.latencies);
+            sent += other.sent;
+            errors += other.errors;
+        }
+
+        LoadResult toResult(final Duration elapsed, final Map<String, LoadResult> operations)
+        {
+            return new LoadResult(sent, errors, elapsed, latencies, operations);
+        }
+    }
+
+    private final class Worker
+    {
+        private final Map<String, Tally> tallies = new HashMap<>();
+
+        Worker run(final Supplier<LoadOperation> operations, final long deadline)
+        {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted())
+            {
+                var operation = operations.get();
+                var tally = tallies.computeIfAbsent(operation.name(), name -> new Tally());
+                var begin = System.nanoTime();
+
+                try
+                {
+                    var response = client.send(operation.request(), HttpResponse.BodyHandlers.discarding());
+
+                    if (response.statusCode() >= 400)
+                    {
+                        tally.errors++;
+                    }
+                } catch (final InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (final Exception e)
+                {
+                    tally.errors++;
+                }
+
+                tally.latencies.record(System.nanoTime() - begin);
+                tally.sent++;
+            }
+
+            return this;
+        }
+    }
+}
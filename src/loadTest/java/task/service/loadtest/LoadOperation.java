@@ -0,0 +1,10 @@
+package task.service.loadtest;
+
+import java.net.http.HttpRequest;
+
+/**
+ * A request together with the name its latency is reported under.
+ */
+record LoadOperation(String name, HttpRequest request)
+{
+}
@@ -0,0 +1,51 @@
+package task.service.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+
+final class LoadResult
+{
+    private final long requests;
+    private final long errors;
+    private final Duration elapsed;
+    private final LatencyRecorder latencies;
+    private final Map<String, LoadResult> operations;
+
+    LoadResult(final long requests, final long errors, final Duration elapsed, final LatencyRecorder latencies,
+            final Map<String, LoadResult> operations)
+    {
+        this.requests = requests;
+        this.errors = errors;
+        this.elapsed = elapsed;
+        this.latencies = latencies;
+        this.operations = operations;
+    }
+
+    long requests()
+    {
+        return requests;
+    }
+
+    long errors()
+    {
+        return errors;
+    }
+
+    double throughput()
+    {
+        return requests / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    double percentileMillis(final double quantile)
+    {
+        return latencies.percentileMillis(quantile);
+    }
+
+    /**
+     * Results per operation name of a mixed run, empty for the per-operation results themselves.
+     */
+    Map<String, LoadResult> operations()
+    {
+        return operations;
+    }
+}
@@ -0,0 +1,120 @@
+package task.service.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * End to end run on one Linux box without network access: starts a throwaway mongod (or uses loadtest.mongoUrl),
+ * seeds it, starts the packaged service, drives the mixed traffic of {@link TrafficMix} and reports throughput and
+ * p50/p99/p999 per endpoint against the latency SLO. Exits with 1 when an endpoint misses it, so a CI job can fail on
+ * regressions.
+ */
+public final class MixedLoadTest
+{
+    MixedLoadTest()
+    {
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        var reportDir = Path.of(Settings.string("reportDir", "build/reports/loadtest"));
+        Files.createDirectories(reportDir);
+
+        var mongoUrl = Settings.string("mongoUrl", "");
+        var database = Settings.string("database", "loadtest_" + System.currentTimeMillis());
+        MongoStandIn standIn = null;
+
+        if (mongoUrl.isEmpty())
+        {
+            standIn = MongoStandIn.start(Settings.string("mongod", "mongod"), reportDir.resolve("mongod.log"));
+            mongoUrl = standIn.connectionString();
+        }
+
+        var passed = false;
+
+        try
+        {
+            var seedStart = System.nanoTime();
+            var users = new DataSeeder(Settings.integer("seed", 42)).seed(mongoUrl, database,
+                    Settings.integer("users", 500), Settings.integer("meanTasks", 40),
+                    Settings.integer("meanNotes", 15), Settings.integer("heavyUsers", 3),
+                    Settings.integer("heavyTasks", 50_000),
+                    Settings.integer("heavySharePercent", 5) / 100.0);
+            System.out.printf("seeded %d users in %.1fs%n", users.userCount(), (System.nanoTime() - seedStart) / 1e9);
+
+            try (var service = ServiceProcess.start(
+                    Path.of(Settings.string("serviceJar", "build/quarkus-app/quarkus-run.jar")),
+                    Settings.string("jvmArgs", "-Xmx1g"), mongoUrl, database, reportDir.resolve("service.log")))
+            {
+                var driver = new LoadDriver(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build());
+                var mix = new TrafficMix(service.baseUrl(), users);
+                var concurrency = Settings.integer("concurrency", 64);
+
+                driver.runMixed(mix, concurrency, Settings.seconds("warmup", 30));
+                var result = driver.runMixed(mix, concurrency, Settings.seconds("duration", 120));
+
+                passed = report(result, reportDir.resolve("mixed-load.csv"));
+            }
+        } finally
+        {
+            if (standIn != null)
+            {
+                standIn.close();
+            }
+        }
+
+        if (!passed)
+        {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints one line per operation and writes the same numbers as CSV, returns whether every operation met its SLO.
+     */
+    private static boolean report(final LoadResult result, final Path csv) throws IOException
+    {
+        var lines = new ArrayList<String>();
+        lines.add("operation,requests,req_s,p50_ms,p99_ms,p999_ms,errors,slo");
+
+        System.out.printf("%-18s %9s %10s %9s %9s %9s %7s  %s%n", "operation", "requests", "req/s", "p50 ms", "p99 ms",
+                "p999 ms", "errors", "slo");
+
+        var passed = true;
+
+        for (var entry : new TreeMap<>(result.operations()).entrySet())
+        {
+            var name = entry.getKey();
+            var operation = entry.getValue();
+            var p99 = operation.percentileMillis(0.99);
+            var p999 = operation.percentileMillis(0.999);
+            var errorPercent = 100.0 * operation.errors() / Math.max(1, operation.requests());
+
+            // slo.<operation>.p99Millis and friends override the defaults, e.g. for streams of heavy users
+            var met = p99 <= Settings.integer("slo." + name + ".p99Millis", Settings.integer("sloP99Millis", 250))
+                    && p999 <= Settings.integer("slo." + name + ".p999Millis",
+                            Settings.integer("sloP999Millis", 1000))
+                    && errorPercent <= Settings.integer("sloErrorPercent", 1);
+            passed &= met;
+
+            System.out.printf("%-18s %9d %10.1f %9.2f %9.2f %9.2f %7d  %s%n", name, operation.requests(),
+                    operation.throughput(), operation.percentileMillis(0.5), p99, p999, operation.errors(),
+                    met ? "met" : "MISSED");
+            lines.add(String.format(Locale.ROOT, "%s,%d,%.1f,%.2f,%.2f,%.2f,%d,%s", name,
+                    operation.requests(), operation.throughput(), operation.percentileMillis(0.5), p99, p999,
+                    operation.errors(), met ? "met" : "missed"));
+        }
+
+        System.out.printf("%-18s %9d %10.1f %9.2f %9.2f %9.2f %7d%n", "total", result.requests(), result.throughput(),
+                result.percentileMillis(0.5), result.percentileMillis(0.99), result.percentileMillis(0.999),
+                result.errors());
+
+        Files.write(csv, lines);
+        return passed;
+    }
+}
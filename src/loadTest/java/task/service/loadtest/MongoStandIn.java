@@ -0,0 +1,67 @@
+package task.service.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+
+/**
+ * A throwaway mongod on a free port with its data in a temporary directory, so a run needs neither a shared database
+ * nor network access. Only the mongod binary has to be installed.
+ */
+final class MongoStandIn implements AutoCloseable
+{
+    private final Process process;
+    private final Path dataDir;
+    private final int port;
+
+    private MongoStandIn(final Process process, final Path dataDir, final int port)
+    {
+        this.process = process;
+        this.dataDir = dataDir;
+        this.port = port;
+    }
+
+    static MongoStandIn start(final String binary, final Path logFile) throws IOException, InterruptedException
+    {
+        var dataDir = Files.createTempDirectory("task-service-loadtest-");
+        var port = Processes.freePort();
+
+        var process = new ProcessBuilder(binary, "--dbpath", dataDir.toString(), "--port", String.valueOf(port),
+                "--bind_ip", "127.0.0.1", "--nounixsocket", "--quiet").redirectErrorStream(true)
+                .redirectOutput(logFile.toFile()).start();
+
+        var standIn = new MongoStandIn(process, dataDir, port);
+
+        try
+        {
+            Processes.await("mongod", process, () -> Processes.accepts(port), Duration.ofSeconds(30));
+        } catch (final RuntimeException | InterruptedException e)
+        {
+            standIn.close();
+            throw e;
+        }
+
+        return standIn;
+    }
+
+    String connectionString()
+    {
+        return "mongodb://127.0.0.1:" + port;
+    }
+
+    @Override
+    public void close() throws InterruptedException
+    {
+        Processes.stop(process);
+
+        try (var paths = Files.walk(dataDir))
+        {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (final IOException e)
+        {
+            System.err.println("Could not remove " + dataDir + ": " + e.getMessage());
+        }
+    }
+}
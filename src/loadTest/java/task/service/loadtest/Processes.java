@@ -0,0 +1,72 @@
+package task.service.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Helpers for the child processes the mixed load test starts.
+ */
+final class Processes
+{
+    Processes()
+    {
+    }
+
+    static int freePort() throws IOException
+    {
+        try (var socket = new ServerSocket(0))
+        {
+            return socket.getLocalPort();
+        }
+    }
+
+    static boolean accepts(final int port)
+    {
+        try (var socket = new Socket())
+        {
+            socket.connect(new InetSocketAddress("127.0.0.1", port), 200);
+            return true;
+        } catch (final IOException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Polls until {@code ready} holds, failing early when the process exits.
+     */
+    static void await(final String name, final Process process, final BooleanSupplier ready, final Duration timeout)
+            throws InterruptedException
+    {
+        var deadline = System.nanoTime() + timeout.toNanos();
+
+        while (!ready.getAsBoolean())
+        {
+            if (!process.isAlive())
+            {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + " before it was ready");
+            }
+
+            if (System.nanoTime() > deadline)
+            {
+                throw new IllegalStateException(name + " was not ready within " + timeout.toSeconds() + "s");
+            }
+
+            Thread.sleep(250);
+        }
+    }
+
+    static void stop(final Process process) throws InterruptedException
+    {
+        process.destroy();
+
+        if (!process.waitFor(20, java.util.concurrent.TimeUnit.SECONDS))
+        {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
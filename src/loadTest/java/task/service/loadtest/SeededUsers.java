@@ -0,0 +1,65 @@
+package task.service.loadtest;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * What the seeder wrote, so traffic targets existing users and items. Deletes draw from separate queues, so an
+ * update never hits an item a concurrent delete already removed.
+ */
+final class SeededUsers
+{
+    record User(String uid, List<String> taskUids, List<String> noteUids)
+    {
+    }
+
+    /**
+     * An item only deletes send, with its owner as the caller.
+     */
+    record Deletable(String userUid, String uid)
+    {
+    }
+
+    private final List<User> regular;
+    private final List<User> heavy;
+    private final double heavyShare;
+    private final Queue<Deletable> deletableTasks = new ConcurrentLinkedQueue<>();
+    private final Queue<Deletable> deletableNotes = new ConcurrentLinkedQueue<>();
+
+    SeededUsers(final List<User> regular, final List<User> heavy, final double heavyShare)
+    {
+        this.regular = regular;
+        this.heavy = heavy;
+        this.heavyShare = heavyShare;
+    }
+
+    /**
+     * A heavy user for {@code heavyShare} of the calls, any other user otherwise.
+     */
+    User pick(final ThreadLocalRandom random)
+    {
+        if (!heavy.isEmpty() && (regular.isEmpty() || random.nextDouble() < heavyShare))
+        {
+            return heavy.get(random.nextInt(heavy.size()));
+        }
+
+        return regular.get(random.nextInt(regular.size()));
+    }
+
+    Queue<Deletable> deletableTasks()
+    {
+        return deletableTasks;
+    }
+
+    Queue<Deletable> deletableNotes()
+    {
+        return deletableNotes;
+    }
+
+    int userCount()
+    {
+        return regular.size() + heavy.size();
+    }
+}
@@ -0,0 +1,93 @@
+package task.service.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The packaged service started as a separate JVM, like in production, so the load driver does not compete with it
+ * for heap and JIT. Tracing is off and application logging at INFO, the run measures the service and not exporters.
+ */
+final class ServiceProcess implements AutoCloseable
+{
+    private final Process process;
+    private final String baseUrl;
+
+    private ServiceProcess(final Process process, final String baseUrl)
+    {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static ServiceProcess start(final Path jar, final String jvmArgs, final String mongoUrl, final String database,
+            final Path logFile) throws IOException, InterruptedException
+    {
+        if (!Files.exists(jar))
+        {
+            throw new IllegalStateException(jar + " does not exist, build it with ./gradlew quarkusBuild");
+        }
+
+        var port = Processes.freePort();
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Arrays.stream(jvmArgs.trim().split("\\s+")).filter(arg -> !arg.isEmpty()).forEach(command::add);
+        command.add("-jar");
+        command.add(jar.toString());
+
+        var builder = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(logFile.toFile());
+        var environment = builder.environment();
+        environment.put("PORT", String.valueOf(port));
+        environment.put("LOCAL_MONGO_URL", mongoUrl);
+        environment.put("LOCAL_MONGO_DB", database);
+        environment.put("QUARKUS_LOG_CATEGORY__TASK_SERVICE__LEVEL", "INFO");
+
+        var service = new ServiceProcess(builder.start(), "http://127.0.0.1:" + port);
+
+        try
+        {
+            // readiness includes the index check, so seeded collections are indexed before traffic starts
+            Processes.await("task-service", service.process, service::ready, Duration.ofMinutes(5));
+        } catch (final RuntimeException | InterruptedException e)
+        {
+            service.close();
+            throw e;
+        }
+
+        return service;
+    }
+
+    String baseUrl()
+    {
+        return baseUrl;
+    }
+
+    private boolean ready()
+    {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/q/health/ready")).GET().build();
+
+        try (var client = HttpClient.newHttpClient())
+        {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (final IOException e)
+        {
+            return false;
+        } catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException
+    {
+        Processes.stop(process);
+    }
+}
@@ -0,0 +1,28 @@
+package task.service.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Reads the loadtest.* system properties that Gradle forwards from -P project properties.
+ */
+final class Settings
+{
+    Settings()
+    {
+    }
+
+    static String string(final String name, final String defaultValue)
+    {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    static int integer(final String name, final int defaultValue)
+    {
+        return Integer.parseInt(string(name, String.valueOf(defaultValue)));
+    }
+
+    static Duration seconds(final String name, final int defaultValue)
+    {
+        return Duration.ofSeconds(integer(name, defaultValue));
+    }
+}
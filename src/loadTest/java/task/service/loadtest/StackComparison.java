@@ -0,0 +1,53 @@
+package task.service.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.List;
+
+/**
+ * Drives the same read endpoints through the blocking and the reactive stack of a running instance and reports
+ * throughput per server core. The instance must be built with task-service.reactive.enabled=true and the user should
+ * own a realistic amount of items.
+ */
+public final class StackComparison
+{
+    private static final List<String> STACKS = List.of("", "/reactive");
+    private static final List<String> ENDPOINTS = List.of("/task/all/%s", "/task/completed/%s", "/note/all/%s");
+
+    StackComparison()
+    {
+    }
+
+    public static void main(final String[] args) throws InterruptedException
+    {
+        var baseUrl = Settings.string("baseUrl", "http://localhost:8080");
+        var userUid = Settings.string("userUid", "loadtest-user");
+        var concurrency = Settings.integer("concurrency", 64);
+        var warmup = Settings.seconds("warmup", 10);
+        var duration = Settings.seconds("duration", 30);
+        var serverCores = Settings.integer("serverCores", Runtime.getRuntime().availableProcessors());
+
+        var driver = new LoadDriver(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build());
+
+        System.out.printf("%-28s %-9s %12s %12s %9s %9s %8s%n", "endpoint", "stack", "req/s", "req/s/core", "p50 ms",
+                "p99 ms", "errors");
+
+        for (var endpoint : ENDPOINTS)
+        {
+            for (var stack : STACKS)
+            {
+                var uri = URI.create(baseUrl + stack + String.format(endpoint, userUid));
+                var request = HttpRequest.newBuilder(uri).header(LoadDriver.CALLER_HEADER, userUid).GET().build();
+
+                driver.run(() -> request, concurrency, warmup);
+                var result = driver.run(() -> request, concurrency, duration);
+
+                System.out.printf("%-28s %-9s %12.1f %12.1f %9.2f %9.2f %8d%n", endpoint,
+                        stack.isEmpty() ? "blocking" : "reactive", result.throughput(),
+                        result.throughput() / serverCores, result.percentileMillis(0.5),
+                        result.percentileMillis(0.99), result.errors());
+            }
+        }
+    }
+}
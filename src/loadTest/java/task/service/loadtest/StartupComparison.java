@@ -0,0 +1,177 @@
+package task.service.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts each container image like the autoscaler would and measures what a new pod delivers: the time from
+ * docker run to the first successful list response, the latency of that first response, and the median of the next
+ * requests once the first one succeeded. Medians over loadtest.runs starts per image, fastest to ready first.
+ */
+public final class StartupComparison
+{
+    private static final int FOLLOW_UP_REQUESTS = 100;
+
+    private record Run(double readyMillis, double firstMillis, double followUpMillis)
+    {
+    }
+
+    StartupComparison()
+    {
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        var images = new LinkedHashMap<String, String>();
+        Arrays.stream(Settings
+                .string("images", "jvm=quarkus/task-service-jvm,appcds=quarkus/task-service-jvm-appcds,"
+                        + "native=quarkus/task-service")
+                .split(",")).map(pair -> pair.trim().split("=", 2)).forEach(pair -> images.put(pair[0], pair[1]));
+        var runs = Settings.integer("runs", 5);
+        var cpus = Settings.string("cpus", "1");
+
+        var reportDir = Path.of(Settings.string("reportDir", "build/reports/loadtest"));
+        Files.createDirectories(reportDir);
+
+        var mongoUrl = Settings.string("mongoUrl", "");
+        var database = Settings.string("database", "startup_" + System.currentTimeMillis());
+        MongoStandIn standIn = null;
+
+        if (mongoUrl.isEmpty())
+        {
+            standIn = MongoStandIn.start(Settings.string("mongod", "mongod"), reportDir.resolve("mongod.log"));
+            mongoUrl = standIn.connectionString();
+        }
+
+        try
+        {
+            // one user, every request of every run reads the same list
+            var user = new DataSeeder(Settings.integer("seed", 42))
+                    .seed(mongoUrl, database, 0, 0, 0, 1, Settings.integer("tasks", 500), 1.0)
+                    .pick(ThreadLocalRandom.current());
+
+            var results = new LinkedHashMap<String, Run>();
+
+            for (var image : images.entrySet())
+            {
+                var samples = new ArrayList<Run>();
+
+                for (var i = 0; i < runs; i++)
+                {
+                    samples.add(measure(image.getValue(), cpus, mongoUrl, database, user.uid()));
+                }
+
+                results.put(image.getKey(), median(samples));
+            }
+
+            System.out.printf("%-10s %14s %14s %16s%n", "image", "ready ms", "first req ms", "next req p50 ms");
+            results.entrySet().stream()
+                    .sorted((a, b) -> Double.compare(a.getValue().readyMillis(), b.getValue().readyMillis()))
+                    .forEach(entry -> System.out.printf("%-10s %14.0f %14.2f %16.2f%n", entry.getKey(),
+                            entry.getValue().readyMillis(), entry.getValue().firstMillis(),
+                            entry.getValue().followUpMillis()));
+        } finally
+        {
+            if (standIn != null)
+            {
+                standIn.close();
+            }
+        }
+    }
+
+    private static Run measure(final String image, final String cpus, final String mongoUrl, final String database,
+            final String userUid) throws IOException, InterruptedException
+    {
+        var port = Processes.freePort();
+        var request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/task/all/" + userUid))
+                .header(LoadDriver.CALLER_HEADER, userUid).timeout(Duration.ofSeconds(10)).GET().build();
+
+        var start = System.nanoTime();
+        // host networking, so the container reaches the mongod bound to 127.0.0.1
+        var containerId = docker("run", "-d", "--network", "host", "--cpus", cpus, "-e", "PORT=" + port, "-e",
+                "LOCAL_MONGO_URL=" + mongoUrl, "-e", "LOCAL_MONGO_DB=" + database, image);
+
+        try (var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build())
+        {
+            var deadline = start + Duration.ofMinutes(2).toNanos();
+
+            while (true)
+            {
+                var sent = System.nanoTime();
+
+                try
+                {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                    {
+                        var done = System.nanoTime();
+                        var followUp = new LatencyRecorder();
+
+                        for (var i = 0; i < FOLLOW_UP_REQUESTS; i++)
+                        {
+                            var begin = System.nanoTime();
+                            client.send(request, HttpResponse.BodyHandlers.discarding());
+                            followUp.record(System.nanoTime() - begin);
+                        }
+
+                        return new Run((done - start) / 1e6, (done - sent) / 1e6, followUp.percentileMillis(0.5));
+                    }
+                } catch (final IOException e)
+                {
+                    // not listening yet
+                }
+
+                if (System.nanoTime() > deadline)
+                {
+                    throw new IllegalStateException(image + " did not answer within two minutes");
+                }
+
+                Thread.sleep(10);
+            }
+        } finally
+        {
+            docker("rm", "-f", containerId);
+        }
+    }
+
+    private static Run median(final List<Run> runs)
+    {
+        return new Run(median(runs.stream().mapToDouble(Run::readyMillis).toArray()),
+                median(runs.stream().mapToDouble(Run::firstMillis).toArray()),
+                median(runs.stream().mapToDouble(Run::followUpMillis).toArray()));
+    }
+
+    private static double median(final double[] values)
+    {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private static String docker(final String... args) throws IOException, InterruptedException
+    {
+        var command = new ArrayList<String>();
+        command.add("docker");
+        command.addAll(List.of(args));
+
+        var process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        var output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+
+        if (process.waitFor() != 0)
+        {
+            throw new IllegalStateException("docker " + String.join(" ", args) + " failed: " + output);
+        }
+
+        return output;
+    }
+}
@@ -0,0 +1,203 @@
+package task.service.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Weighted mix of calls to every /task and /note endpoint, roughly 80% reads and 20% writes like the clients send.
+ * Each operation name is reported separately.
+ */
+final class TrafficMix implements Supplier<LoadOperation>
+{
+    private static final String JSON = "application/json";
+    private static final long SYNC_WINDOW_MILLIS = 60_000L;
+
+    private record Entry(String name, int weight, Function<ThreadLocalRandom, HttpRequest> request)
+    {
+    }
+
+    private final String baseUrl;
+    private final SeededUsers users;
+    private final List<Entry> entries = new ArrayList<>();
+    private final int totalWeight;
+
+    TrafficMix(final String baseUrl, final SeededUsers users)
+    {
+        this.baseUrl = baseUrl;
+        this.users = users;
+
+        add("task-all", 14, random -> get(users.pick(random).uid(), "/task/all/%s"));
+        add("task-all-page", 8, random -> get(users.pick(random).uid(), "/task/all/%s?limit=100"));
+        add("task-all-summary", 5, random -> get(users.pick(random).uid(), "/task/all/%s?view=summary"));
+        add("task-completed", 7, random -> get(users.pick(random).uid(), "/task/completed/%s"));
+        add("task-priority", 6, random -> get(users.pick(random).uid(), "/task/priority/%s"));
+        add("task-stream", 2, random -> get(users.pick(random).uid(), "/task/all/%s/stream"));
+        add("task-since", 6, random -> get(users.pick(random).uid(), "/task/since/%s?since=" + since()));
+        add("note-all", 12, random -> get(users.pick(random).uid(), "/note/all/%s"));
+        add("note-all-page", 4, random -> get(users.pick(random).uid(), "/note/all/%s?limit=100"));
+        add("note-stream", 1, random -> get(users.pick(random).uid(), "/note/all/%s/stream"));
+        add("note-since", 4, random -> get(users.pick(random).uid(), "/note/since/%s?since=" + since()));
+        add("stats", 3, random -> get(users.pick(random).uid(), "/stats/%s"));
+
+        add("task-create", 8, random -> createTask(users.pick(random).uid(), random));
+        add("task-update", 7, this::updateTask);
+        add("task-delete", 2, random -> deleteOrUpdate(random, true));
+        add("task-batch", 1, random -> post(users.pick(random).uid(), "/task/batch/%s", taskBatchJson(random)));
+        add("note-create", 4, random -> createNote(users.pick(random).uid(), random));
+        add("note-update", 4, this::updateNote);
+        add("note-delete", 1, random -> deleteOrUpdate(random, false));
+        add("note-batch", 1, random -> post(users.pick(random).uid(), "/note/batch/%s", noteBatchJson(random)));
+
+        totalWeight = entries.stream().mapToInt(Entry::weight).sum();
+    }
+
+    @Override
+    public LoadOperation get()
+    {
+        var random = ThreadLocalRandom.current();
+        var roll = random.nextInt(totalWeight);
+
+        for (var entry : entries)
+        {
+            roll -= entry.weight();
+
+            if (roll < 0)
+            {
+                return new LoadOperation(entry.name(), entry.request().apply(random));
+            }
+        }
+
+        throw new IllegalStateException("Weights changed while drawing");
+    }
+
+    private void add(final String name, final int weight, final Function<ThreadLocalRandom, HttpRequest> request)
+    {
+        entries.add(new Entry(name, weight, request));
+    }
+
+    private HttpRequest updateTask(final ThreadLocalRandom random)
+    {
+        var user = users.pick(random);
+
+        if (user.taskUids().isEmpty())
+        {
+            return createTask(user.uid(), random);
+        }
+
+        var uid = user.taskUids().get(random.nextInt(user.taskUids().size()));
+        return put(user.uid(), "/task/update/" + uid, "{\"completed\":" + random.nextBoolean() + "}");
+    }
+
+    private HttpRequest updateNote(final ThreadLocalRandom random)
+    {
+        var user = users.pick(random);
+
+        if (user.noteUids().isEmpty())
+        {
+            return createNote(user.uid(), random);
+        }
+
+        var uid = user.noteUids().get(random.nextInt(user.noteUids().size()));
+        return put(user.uid(), "/note/update/" + uid, "{\"text\":\"" + text(random) + "\"}");
+    }
+
+    /**
+     * Every seeded item is deleted at most once, once the queue runs dry deletes turn into updates.
+     */
+    private HttpRequest deleteOrUpdate(final ThreadLocalRandom random, final boolean task)
+    {
+        var item = (task ? users.deletableTasks() : users.deletableNotes()).poll();
+
+        if (item == null)
+        {
+            return task ? updateTask(random) : updateNote(random);
+        }
+
+        return request(item.userUid(), (task ? "/task/delete/" : "/note/delete/") + item.uid()).DELETE().build();
+    }
+
+    private HttpRequest createTask(final String userUid, final ThreadLocalRandom random)
+    {
+        return post(userUid, "/task/create/%s", taskJson(random));
+    }
+
+    private HttpRequest createNote(final String userUid, final ThreadLocalRandom random)
+    {
+        return post(userUid, "/note/create/%s", noteJson(random));
+    }
+
+    private String taskBatchJson(final ThreadLocalRandom random)
+    {
+        var operations = new ArrayList<String>();
+
+        for (var i = 0; i < 10; i++)
+        {
+            operations.add("{\"action\":\"create\",\"payload\":" + taskJson(random) + "}");
+        }
+
+        return "[" + String.join(",", operations) + "]";
+    }
+
+    private String noteBatchJson(final ThreadLocalRandom random)
+    {
+        var operations = new ArrayList<String>();
+
+        for (var i = 0; i < 10; i++)
+        {
+            operations.add("{\"action\":\"create\",\"payload\":" + noteJson(random) + "}");
+        }
+
+        return "[" + String.join(",", operations) + "]";
+    }
+
+    private static String taskJson(final ThreadLocalRandom random)
+    {
+        return "{\"title\":\"Load task\",\"description\":\"" + text(random) + "\",\"priority\":"
+                + (random.nextInt(5) == 0) + ",\"completed\":false}";
+    }
+
+    private static String noteJson(final ThreadLocalRandom random)
+    {
+        return "{\"title\":\"Load note\",\"text\":\"" + text(random) + "\"}";
+    }
+
+    private static String text(final ThreadLocalRandom random)
+    {
+        return "y".repeat(20 + random.nextInt(300));
+    }
+
+    private static long since()
+    {
+        return System.currentTimeMillis() - SYNC_WINDOW_MILLIS;
+    }
+
+    /**
+     * The user's path, {@code %s} stands for the uid, sent with the user as the caller.
+     */
+    private HttpRequest get(final String userUid, final String path)
+    {
+        return request(userUid, String.format(path, userUid)).GET().build();
+    }
+
+    private HttpRequest post(final String userUid, final String path, final String json)
+    {
+        return request(userUid, String.format(path, userUid)).header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest put(final String userUid, final String path, final String json)
+    {
+        return request(userUid, path).header("Content-Type", JSON)
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest.Builder request(final String userUid, final String path)
+    {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header(LoadDriver.CALLER_HEADER, userUid);
+    }
+}
@@ -0,0 +1,82 @@
+#!/bin/sh
+# Training run for the AppCDS archive: starts the service with -XX:ArchiveClassesAtExit, calls every /task and /note
+# endpoint so the classes of the request paths are loaded, and stops it with SIGTERM, on which the JVM writes the
+# archive next to quarkus-run.jar. The archive only works with the JDK build that created it.
+#
+# usage: appcds-training.sh <quarkus-app directory> <mongo url> [rounds]
+set -eu
+
+APP_DIR=$1
+MONGO_URL=$2
+ROUNDS=${3:-50}
+PORT=${TRAINING_PORT:-18080}
+BASE="http://127.0.0.1:$PORT"
+USER_UID="appcds-training-$$"
+ARCHIVE="$APP_DIR/app-cds.jsa"
+
+rm -f "$ARCHIVE"
+
+PORT=$PORT LOCAL_MONGO_URL=$MONGO_URL LOCAL_MONGO_DB=${TRAINING_MONGO_DB:-appcds_training} \
+    ${JAVA:-java} ${TRAINING_JAVA_OPTS:-} -XX:ArchiveClassesAtExit="$ARCHIVE" -jar "$APP_DIR/quarkus-run.jar" &
+PID=$!
+# a failing call ends the script, the service must not outlive it
+trap 'kill $PID 2> /dev/null || true' EXIT
+
+waited=0
+until curl -sf "$BASE/q/health/ready" > /dev/null; do
+    waited=$((waited + 1))
+    if [ $waited -gt 600 ] || ! kill -0 $PID 2> /dev/null; then
+        echo "service did not become ready" >&2
+        kill $PID 2> /dev/null || true
+        exit 1
+    fi
+    sleep 0.5
+done
+
+# admission control requires the caller header on every request
+get() {
+    curl -sf -H "X-Caller-Id: $USER_UID" "$@"
+}
+
+send() {
+    get -H 'Content-Type: application/json' "$@"
+}
+
+# the uid of the created item, the only "uid" key of a create response
+uid_of() {
+    sed -n 's/.*"uid":"\([^"]*\)".*/\1/p'
+}
+
+round=0
+while [ $round -lt "$ROUNDS" ]; do
+    TASK=$(send -X POST -d '{"title":"Training","description":"AppCDS","priority":true,"completed":false}' \
+        "$BASE/task/create/$USER_UID" | uid_of)
+    send -X PUT -d '{"completed":true}' "$BASE/task/update/$TASK" > /dev/null
+    send -X POST -d '[{"action":"create","payload":{"title":"Batch","description":"","priority":false,"completed":false}}]' \
+        "$BASE/task/batch/$USER_UID" > /dev/null
+
+    NOTE=$(send -X POST -d '{"title":"Training","text":"AppCDS"}' "$BASE/note/create/$USER_UID" | uid_of)
+    send -X PUT -d '{"text":"Updated"}' "$BASE/note/update/$NOTE" > /dev/null
+    send -X POST -d '[{"action":"create","payload":{"title":"Batch","text":""}}]' "$BASE/note/batch/$USER_UID" > /dev/null
+
+    for path in "task/all/$USER_UID" "task/all/$USER_UID?limit=10" "task/all/$USER_UID?view=summary" \
+        "task/all/$USER_UID/stream" "task/completed/$USER_UID" "task/priority/$USER_UID" "task/since/$USER_UID?since=0" \
+        "note/all/$USER_UID" "note/all/$USER_UID?limit=10" "note/all/$USER_UID/stream" "note/since/$USER_UID?since=0" \
+        "stats/$USER_UID"; do
+        get "$BASE/$path" > /dev/null
+    done
+
+    send -X DELETE "$BASE/task/delete/$TASK" > /dev/null
+    send -X DELETE "$BASE/note/delete/$NOTE" > /dev/null
+    round=$((round + 1))
+done
+
+kill -TERM $PID
+wait $PID || true
+
+if [ ! -f "$ARCHIVE" ]; then
+    echo "no archive written to $ARCHIVE" >&2
+    exit 1
+fi
+
+echo "wrote $ARCHIVE"
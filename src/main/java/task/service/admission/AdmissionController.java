@@ -0,0 +1,161 @@
+package task.service.admission;
+
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the requests in flight per endpoint group and per caller. A request over its caller's limit is rejected at
+ * once, so one heavy client cannot take all permits of a group. A request of an unknown caller only counts against
+ * its group. A request finding its group full waits for a permit
+ * at most max-queue-wait; once the recent waits average that long the group is saturated and requests are rejected
+ * without waiting, until the average drops again. Virtual threads make waiting cheap, so the limits are what keeps a
+ * burst from queueing up in front of the Mongo connection pool.
+ */
+@ApplicationScoped
+public class AdmissionController
+{
+    public enum Decision
+    {
+        ADMITTED,
+        CALLER_LIMIT,
+        OVERLOADED
+    }
+
+    @ConfigProperty(name = "task-service.admission.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "task-service.admission.reads.max-concurrent", defaultValue = "64")
+    int maxConcurrentReads;
+
+    @ConfigProperty(name = "task-service.admission.writes.max-concurrent", defaultValue = "32")
+    int maxConcurrentWrites;
+
+    @ConfigProperty(name = "task-service.admission.per-caller.max-concurrent", defaultValue = "8")
+    int maxConcurrentPerCaller;
+
+    @ConfigProperty(name = "task-service.admission.max-queue-wait", defaultValue = "50ms")
+    Duration maxQueueWait;
+
+    private Map<AdmissionGroup, GroupLimit> groups;
+    private final Map<String, Integer> inFlightByCaller = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        groups = new EnumMap<>(AdmissionGroup.class);
+        groups.put(AdmissionGroup.READ, new GroupLimit(maxConcurrentReads));
+        groups.put(AdmissionGroup.WRITE, new GroupLimit(maxConcurrentWrites));
+    }
+
+    public boolean isEnabled()
+    {
+        return groups != null;
+    }
+
+    /**
+     * Every ADMITTED decision has to be followed by one {@link #release} with the same arguments.
+     *
+     * @param caller the caller, or null when it is unknown
+     */
+    public Decision admit(final AdmissionGroup group, final String caller)
+    {
+        if (groups == null)
+        {
+            return Decision.ADMITTED;
+        }
+
+        if (caller != null && inFlightByCaller.merge(caller, 1, Integer::sum) > maxConcurrentPerCaller)
+        {
+            releaseCaller(caller);
+            return rejected(group, Decision.CALLER_LIMIT);
+        }
+
+        if (!groups.get(group).acquire(maxQueueWait.toNanos()))
+        {
+            releaseCaller(caller);
+            return rejected(group, Decision.OVERLOADED);
+        }
+
+        return Decision.ADMITTED;
+    }
+
+    public void release(final AdmissionGroup group, final String caller)
+    {
+        if (groups == null)
+        {
+            return;
+        }
+
+        groups.get(group).permits.release();
+        releaseCaller(caller);
+    }
+
+    // the entry goes away with the last request of the caller, so the map only holds callers with requests in flight
+    private void releaseCaller(final String caller)
+    {
+        if (caller == null)
+        {
+            return;
+        }
+
+        inFlightByCaller.computeIfPresent(caller, (key, inFlight) -> inFlight == 1 ? null : inFlight - 1);
+    }
+
+    private static Decision rejected(final AdmissionGroup group, final Decision decision)
+    {
+        Metrics.counter("task.admission.rejected", "group", group.name().toLowerCase(), "reason",
+                decision.name().toLowerCase()).increment();
+        return decision;
+    }
+
+    static final class GroupLimit
+    {
+        private final Semaphore permits;
+
+        // moving average of the time spent waiting for a permit, a new sample weighs 1/8
+        private final AtomicLong averageWaitNanos = new AtomicLong();
+
+        GroupLimit(final int maxConcurrent)
+        {
+            permits = new Semaphore(maxConcurrent, true);
+        }
+
+        boolean acquire(final long maxWaitNanos)
+        {
+            var start = System.nanoTime();
+            boolean acquired;
+
+            try
+            {
+                acquired = averageWaitNanos.get() >= maxWaitNanos
+                        ? permits.tryAcquire()
+                        : permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+
+            } catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+
+            // immediate rejections record a short wait, so the average decays and waiting is tried again
+            var waited = System.nanoTime() - start;
+            averageWaitNanos.accumulateAndGet(waited, (average, sample) -> average + (sample - average) / 8);
+            return acquired;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package task.service.admission;
+
+/**
+ * Endpoint groups with their own concurrency limit, so a burst of slow reads cannot starve writes and the other way
+ * round.
+ */
+public enum AdmissionGroup
+{
+    READ,
+    WRITE
+}
@@ -0,0 +1,114 @@
+package task.service.admission;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import task.service.utils.InvocationUtils;
+import task.service.utils.ResponseUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Asks the {@link AdmissionController} before the resource method runs and answers 429 or 503 when the request is not
+ * admitted. Runs before the tracing interceptor, so a rejected request costs no span and no service call. A streamed
+ * response holds its permits only until the cursor is opened, not while the items are written. A request whose caller
+ * cannot be named only counts against its group, it is never rejected for that.
+ */
+@Admitted(AdmissionGroup.READ)
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION - 10)
+public class AdmissionInterceptor
+{
+    @Inject
+    AdmissionController controller;
+
+    @Inject
+    HttpHeaders headers;
+
+    @Inject
+    SecurityContext securityContext;
+
+    // only set when a trusted proxy writes the header, a client could otherwise send a new id with every request
+    @ConfigProperty(name = "task-service.admission.caller-header")
+    Optional<String> callerHeader;
+
+    @ConfigProperty(name = "task-service.admission.retry-after", defaultValue = "1s")
+    Duration retryAfter;
+
+    @AroundInvoke
+    Object admit(final InvocationContext context) throws Exception
+    {
+        if (!controller.isEnabled())
+        {
+            return context.proceed();
+        }
+
+        var caller = callerOf(context);
+        var group = groupOf(context.getMethod());
+        var decision = controller.admit(group, caller);
+
+        if (decision == AdmissionController.Decision.CALLER_LIMIT)
+        {
+            return ResponseUtils.rejectedResponse(Response.Status.TOO_MANY_REQUESTS,
+                    "Too many concurrent requests for this caller", retryAfter);
+        }
+
+        if (decision == AdmissionController.Decision.OVERLOADED)
+        {
+            return ResponseUtils.rejectedResponse(Response.Status.SERVICE_UNAVAILABLE,
+                    "Service is overloaded, try again later", retryAfter);
+        }
+
+        try
+        {
+            return context.proceed();
+
+        } finally
+        {
+            controller.release(group, caller);
+        }
+    }
+
+    // the authenticated principal, else the trusted caller header, else the user the path names; null for the per item
+    // update and delete calls without either, never the client address, behind a proxy that is the same for everyone
+    private String callerOf(final InvocationContext context)
+    {
+        var principal = securityContext.getUserPrincipal();
+
+        if (principal != null)
+        {
+            return principal.getName();
+        }
+
+        if (callerHeader.isPresent())
+        {
+            var caller = headers.getHeaderString(callerHeader.get());
+
+            if (caller != null && !caller.isBlank())
+            {
+                return caller;
+            }
+        }
+
+        return InvocationUtils.userUidOf(context.getMethod(), context.getParameters());
+    }
+
+    private static AdmissionGroup groupOf(final Method method)
+    {
+        var binding = method.getAnnotation(Admitted.class);
+        if (binding == null)
+        {
+            binding = method.getDeclaringClass().getAnnotation(Admitted.class);
+        }
+
+        return binding == null ? AdmissionGroup.READ : binding.value();
+    }
+}
@@ -0,0 +1,5 @@
+package task.service.cache;
+
+record ListKey(String userUid, ListKind kind)
+{
+}
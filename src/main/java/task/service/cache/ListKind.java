@@ -0,0 +1,15 @@
+package task.service.cache;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum ListKind
+{
+    ALL_TASKS, COMPLETED_TASKS, PRIORITY_TASKS, ALL_NOTES,
+
+    ALL_TASK_SUMMARIES, COMPLETED_TASK_SUMMARIES, PRIORITY_TASK_SUMMARIES, ALL_NOTE_SUMMARIES;
+
+    static final Set<ListKind> TASKS = EnumSet.of(ALL_TASKS, COMPLETED_TASKS, PRIORITY_TASKS, ALL_TASK_SUMMARIES,
+            COMPLETED_TASK_SUMMARIES, PRIORITY_TASK_SUMMARIES);
+    static final Set<ListKind> NOTES = EnumSet.of(ALL_NOTES, ALL_NOTE_SUMMARIES);
+}
@@ -0,0 +1,23 @@
+package task.service.cache;
+
+/**
+ * Revision of a user's items, read from the items themselves: how many there are, soft deleted ones included, and the
+ * sum of their updatedAt. Every create, update and delete moves one of the two, also when stamped by a replica whose
+ * clock runs behind, so there is no counter to keep in step with the writes. Only two writes of the same item within
+ * one millisecond leave it unchanged.
+ */
+public record ListRevision(long items, long updatedAtSum)
+{
+    /**
+     * Revision of lists read without one, any later revision check loads them again and they carry no ETag.
+     */
+    public static final ListRevision UNKNOWN = new ListRevision(-1, -1);
+
+    /**
+     * The revision in an ETag, both values in hex.
+     */
+    public String tagValue()
+    {
+        return Long.toHexString(items) + "." + Long.toHexString(updatedAtSum);
+    }
+}
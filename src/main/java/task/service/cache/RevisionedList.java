@@ -0,0 +1,11 @@
+package task.service.cache;
+
+import java.util.List;
+
+/**
+ * A cached list together with the revision that was current before it was loaded, so the list is at least as new as
+ * the revision and a tag built from it is never ahead of the data.
+ */
+public record RevisionedList<T>(List<T> items, ListRevision revision)
+{
+}
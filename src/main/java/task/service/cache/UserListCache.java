@@ -0,0 +1,205 @@
+package task.service.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.service.events.ItemsChangedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the full list queries, keyed by user and list kind. Bounded by the total number of cached
+ * items and by age; every write path invalidates the lists of the affected user. Writes of other replicas only reach
+ * the cache through change streams, so with several replicas the cache needs them turned on.
+ */
+@ApplicationScoped
+public class UserListCache
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(UserListCache.class);
+
+    @ConfigProperty(name = "task-service.cache.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "task-service.change-streams.enabled", defaultValue = "false")
+    boolean changeStreamsEnabled;
+
+    @ConfigProperty(name = "task-service.cache.max-cached-items", defaultValue = "200000")
+    long maxCachedItems;
+
+    @ConfigProperty(name = "task-service.cache.expire-after-write", defaultValue = "60s")
+    Duration expireAfterWrite;
+
+    private AsyncCache<ListKey, RevisionedList<?>> cache;
+
+    @PostConstruct
+    void init()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        if (!changeStreamsEnabled)
+        {
+            LOGGER.warn("List cache is on without change streams, with several replicas the completed and priority "
+                    + "lists can be served up to {} stale; set CHANGE_STREAMS_ENABLED=true", expireAfterWrite);
+        }
+
+        // async so loads run outside of the cache's internal locks, which would pin virtual threads during Mongo I/O
+        cache = Caffeine.newBuilder().maximumWeight(maxCachedItems)
+                .weigher((ListKey key, RevisionedList<?> value) -> value.items().size() + 1)
+                .expireAfterWrite(expireAfterWrite).recordStats().buildAsync();
+    }
+
+    public <T> List<T> get(final String userUid, final ListKind kind, final Supplier<List<T>> loader)
+    {
+        return get(userUid, kind, ListRevision.UNKNOWN, loader).items();
+    }
+
+    /**
+     * Like {@link #get(String, ListKind, Supplier)}, but a list cached at another revision is loaded again. The
+     * revision is read from the items, so this also catches writes of other replicas whose invalidation did not reach
+     * this cache. Read the revision before calling, the loaded list is stored with it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RevisionedList<T> get(final String userUid, final ListKind kind, final ListRevision revision,
+            final Supplier<List<T>> loader)
+    {
+        if (cache == null)
+        {
+            return new RevisionedList<>(loader.get(), revision);
+        }
+
+        var key = new ListKey(userUid, kind);
+        var loading = new CompletableFuture<RevisionedList<?>>();
+        var future = cache.get(key, (ignored, executor) -> loading);
+
+        if (future != loading)
+        {
+            var cached = (RevisionedList<T>) join(future);
+
+            if (cached.revision().equals(revision))
+            {
+                return cached;
+            }
+
+            // loaded before a write this cache was not told about, replaced unless another caller got there first
+            if (!cache.asMap().replace(key, future, loading))
+            {
+                return new RevisionedList<>(loader.get(), revision);
+            }
+        }
+
+        try
+        {
+            var loaded = new RevisionedList<>(List.copyOf(loader.get()), revision);
+            loading.complete(loaded);
+            return loaded;
+
+        } catch (final Throwable e)
+        {
+            // failed futures are dropped by the cache, so the next call loads again; errors too, or callers waiting
+            // on this load would block forever
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidateTasks(final String userUid)
+    {
+        invalidate(userUid, ListKind.TASKS);
+    }
+
+    public void invalidateNotes(final String userUid)
+    {
+        invalidate(userUid, ListKind.NOTES);
+    }
+
+    public void invalidateAll()
+    {
+        if (cache != null)
+        {
+            cache.synchronous().invalidateAll();
+        }
+    }
+
+    /**
+     * Keeps the cache consistent with writes of other replicas, reported through the change stream listener.
+     */
+    void onItemsChanged(@Observes final ItemsChangedEvent event)
+    {
+        if (cache == null)
+        {
+            return;
+        }
+
+        var kinds = ItemsChangedEvent.TASKS.equals(event.collection()) ? ListKind.TASKS : ListKind.NOTES;
+
+        if (event.userUid() == null)
+        {
+            cache.synchronous().asMap().keySet().removeIf(key -> kinds.contains(key.kind()));
+            return;
+        }
+
+        invalidate(event.userUid(), kinds);
+    }
+
+    public boolean isEnabled()
+    {
+        return cache != null;
+    }
+
+    public CacheStats stats()
+    {
+        return cache == null ? CacheStats.empty() : cache.synchronous().stats();
+    }
+
+    public long size()
+    {
+        return cache == null ? 0 : cache.synchronous().estimatedSize();
+    }
+
+    private void invalidate(final String userUid, final Set<ListKind> kinds)
+    {
+        if (cache == null)
+        {
+            return;
+        }
+
+        // a load still in flight is dropped as well, so it can never put back a list from before the write
+        cache.synchronous().invalidateAll(kinds.stream().map(kind -> new ListKey(userUid, kind)).toList());
+    }
+
+    private static RevisionedList<?> join(final CompletableFuture<RevisionedList<?>> future)
+    {
+        try
+        {
+            return future.join();
+
+        } catch (final CompletionException e)
+        {
+            if (e.getCause() instanceof RuntimeException cause)
+            {
+                throw cause;
+            }
+
+            if (e.getCause() instanceof Error cause)
+            {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+}
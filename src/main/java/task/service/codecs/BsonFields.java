@@ -0,0 +1,110 @@
+package task.service.codecs;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.types.ObjectId;
+
+import java.util.Date;
+
+/**
+ * Typed reads and writes shared by the item codecs. Null fields are left out on write like the POJO codec did, and
+ * reads accept every numeric type so documents written by other tools still decode.
+ */
+final class BsonFields
+{
+    BsonFields()
+    {
+    }
+
+    static String readString(final BsonReader reader)
+    {
+        if (reader.getCurrentBsonType() == BsonType.NULL)
+        {
+            reader.readNull();
+            return null;
+        }
+
+        return reader.readString();
+    }
+
+    static String readObjectId(final BsonReader reader)
+    {
+        if (reader.getCurrentBsonType() == BsonType.OBJECT_ID)
+        {
+            return reader.readObjectId().toHexString();
+        }
+
+        return readString(reader);
+    }
+
+    static Long readLong(final BsonReader reader)
+    {
+        return switch (reader.getCurrentBsonType())
+        {
+            case INT64 -> reader.readInt64();
+            case INT32 -> (long) reader.readInt32();
+            case DOUBLE -> (long) reader.readDouble();
+            case NULL ->
+            {
+                reader.readNull();
+                yield null;
+            }
+            default -> throw new IllegalStateException("Expected a number but found " + reader.getCurrentBsonType());
+        };
+    }
+
+    static boolean readBoolean(final BsonReader reader)
+    {
+        if (reader.getCurrentBsonType() == BsonType.NULL)
+        {
+            reader.readNull();
+            return false;
+        }
+
+        return reader.readBoolean();
+    }
+
+    static Date readDate(final BsonReader reader)
+    {
+        if (reader.getCurrentBsonType() == BsonType.NULL)
+        {
+            reader.readNull();
+            return null;
+        }
+
+        return new Date(reader.readDateTime());
+    }
+
+    static void writeObjectId(final BsonWriter writer, final String id)
+    {
+        if (id != null)
+        {
+            writer.writeObjectId("_id", new ObjectId(id));
+        }
+    }
+
+    static void writeString(final BsonWriter writer, final String name, final String value)
+    {
+        if (value != null)
+        {
+            writer.writeString(name, value);
+        }
+    }
+
+    static void writeLong(final BsonWriter writer, final String name, final Long value)
+    {
+        if (value != null)
+        {
+            writer.writeInt64(name, value);
+        }
+    }
+
+    static void writeDate(final BsonWriter writer, final String name, final Date value)
+    {
+        if (value != null)
+        {
+            writer.writeDateTime(name, value.getTime());
+        }
+    }
+}
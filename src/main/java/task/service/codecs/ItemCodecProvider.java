@@ -0,0 +1,35 @@
+package task.service.codecs;
+
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import task.service.models.Note;
+import task.service.models.Task;
+
+/**
+ * Picked up by the Quarkus Mongo extension, which consults registered providers before its automatic POJO codec, so
+ * Panache reads and writes tasks and notes through the hand written codecs on the blocking and the reactive client.
+ * The summary projections stay on the POJO codec.
+ */
+public class ItemCodecProvider implements CodecProvider
+{
+    private static final TaskCodec TASK_CODEC = new TaskCodec();
+    private static final NoteCodec NOTE_CODEC = new NoteCodec();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Codec<T> get(final Class<T> clazz, final CodecRegistry registry)
+    {
+        if (clazz == Task.class)
+        {
+            return (Codec<T>) TASK_CODEC;
+        }
+
+        if (clazz == Note.class)
+        {
+            return (Codec<T>) NOTE_CODEC;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,98 @@
+package task.service.codecs;
+
+import org.bson.BsonObjectId;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import task.service.models.Note;
+
+import static task.service.codecs.BsonFields.*;
+
+/**
+ * Reads and writes note documents field by field, see {@link TaskCodec}.
+ */
+public final class NoteCodec implements CollectibleCodec<Note>
+{
+    @Override
+    public void encode(final BsonWriter writer, final Note note, final EncoderContext encoderContext)
+    {
+        writer.writeStartDocument();
+        writeObjectId(writer, note.getId());
+        writeString(writer, "uid", note.getUid());
+        writeString(writer, "userUid", note.getUserUid());
+        writeString(writer, "type", note.getType());
+        writeString(writer, "title", note.getTitle());
+        writeString(writer, "text", note.getText());
+        writeLong(writer, "createdAt", note.getCreatedAt());
+        writeLong(writer, "updatedAt", note.getUpdatedAt());
+        writeDate(writer, "deletedAt", note.getDeletedAt());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Note decode(final BsonReader reader, final DecoderContext decoderContext)
+    {
+        var note = new Note();
+
+        reader.readStartDocument();
+
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT)
+        {
+            switch (reader.readName())
+            {
+                case "_id" -> note.setId(readObjectId(reader));
+                case "uid" -> note.setUid(readString(reader));
+                case "userUid" -> note.setUserUid(readString(reader));
+                case "type" -> note.setType(readString(reader));
+                case "title" -> note.setTitle(readString(reader));
+                case "text" -> note.setText(readString(reader));
+                case "createdAt" -> note.setCreatedAt(readLong(reader));
+                case "updatedAt" -> note.setUpdatedAt(readLong(reader));
+                case "deletedAt" -> note.setDeletedAt(readDate(reader));
+                default -> reader.skipValue();
+            }
+        }
+
+        reader.readEndDocument();
+        return note;
+    }
+
+    @Override
+    public Class<Note> getEncoderClass()
+    {
+        return Note.class;
+    }
+
+    @Override
+    public Note generateIdIfAbsentFromDocument(final Note note)
+    {
+        if (!documentHasId(note))
+        {
+            note.setId(new ObjectId().toHexString());
+        }
+
+        return note;
+    }
+
+    @Override
+    public boolean documentHasId(final Note note)
+    {
+        return note.getId() != null;
+    }
+
+    @Override
+    public BsonValue getDocumentId(final Note note)
+    {
+        if (!documentHasId(note))
+        {
+            throw new IllegalStateException("The note does not contain an _id");
+        }
+
+        return new BsonObjectId(new ObjectId(note.getId()));
+    }
+}
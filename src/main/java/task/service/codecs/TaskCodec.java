@@ -0,0 +1,105 @@
+package task.service.codecs;
+
+import org.bson.BsonObjectId;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import task.service.models.Task;
+
+import static task.service.codecs.BsonFields.*;
+
+/**
+ * Reads and writes task documents field by field, without the reflective property access of the POJO codec. Field
+ * names must stay in line with {@link Task}, unknown fields are skipped.
+ */
+public final class TaskCodec implements CollectibleCodec<Task>
+{
+    @Override
+    public void encode(final BsonWriter writer, final Task task, final EncoderContext encoderContext)
+    {
+        writer.writeStartDocument();
+        writeObjectId(writer, task.getId());
+        writeString(writer, "uid", task.getUid());
+        writeString(writer, "userUid", task.getUserUid());
+        writeString(writer, "type", task.getType());
+        writeString(writer, "title", task.getTitle());
+        writeString(writer, "description", task.getDescription());
+        writer.writeBoolean("priority", task.isPriority());
+        writer.writeBoolean("completed", task.isCompleted());
+        writeLong(writer, "createdAt", task.getCreatedAt());
+        writeLong(writer, "updatedAt", task.getUpdatedAt());
+        writeLong(writer, "completedAt", task.getCompletedAt());
+        writeDate(writer, "deletedAt", task.getDeletedAt());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Task decode(final BsonReader reader, final DecoderContext decoderContext)
+    {
+        var task = new Task();
+
+        reader.readStartDocument();
+
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT)
+        {
+            switch (reader.readName())
+            {
+                case "_id" -> task.setId(readObjectId(reader));
+                case "uid" -> task.setUid(readString(reader));
+                case "userUid" -> task.setUserUid(readString(reader));
+                case "type" -> task.setType(readString(reader));
+                case "title" -> task.setTitle(readString(reader));
+                case "description" -> task.setDescription(readString(reader));
+                case "priority" -> task.setPriority(readBoolean(reader));
+                case "completed" -> task.setCompleted(readBoolean(reader));
+                case "createdAt" -> task.setCreatedAt(readLong(reader));
+                case "updatedAt" -> task.setUpdatedAt(readLong(reader));
+                case "completedAt" -> task.setCompletedAt(readLong(reader));
+                case "deletedAt" -> task.setDeletedAt(readDate(reader));
+                default -> reader.skipValue();
+            }
+        }
+
+        reader.readEndDocument();
+        return task;
+    }
+
+    @Override
+    public Class<Task> getEncoderClass()
+    {
+        return Task.class;
+    }
+
+    @Override
+    public Task generateIdIfAbsentFromDocument(final Task task)
+    {
+        if (!documentHasId(task))
+        {
+            task.setId(new ObjectId().toHexString());
+        }
+
+        return task;
+    }
+
+    @Override
+    public boolean documentHasId(final Task task)
+    {
+        return task.getId() != null;
+    }
+
+    @Override
+    public BsonValue getDocumentId(final Task task)
+    {
+        if (!documentHasId(task))
+        {
+            throw new IllegalStateException("The task does not contain an _id");
+        }
+
+        return new BsonObjectId(new ObjectId(task.getId()));
+    }
+}
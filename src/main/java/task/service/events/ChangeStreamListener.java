@@ -0,0 +1,216 @@
+package task.service.events;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the change streams of the task and note collections and fires an {@link ItemsChangedEvent} per change, so
+ * state derived from those collections stays consistent with writes made by other replicas. Needs a replica set.
+ */
+@ApplicationScoped
+public class ChangeStreamListener
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(ChangeStreamListener.class);
+
+    // the server answers with this code when the resume token is no longer in the oplog
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    @Inject
+    MongoClient mongoClient;
+
+    @Inject
+    ResumeTokenStore tokenStore;
+
+    @Inject
+    Event<ItemsChangedEvent> events;
+
+    @ConfigProperty(name = "quarkus.mongodb.database")
+    String database;
+
+    @ConfigProperty(name = "task-service.change-streams.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "task-service.change-streams.instance-id")
+    Optional<String> instanceId;
+
+    @ConfigProperty(name = "task-service.change-streams.token-save-interval", defaultValue = "5s")
+    Duration tokenSaveInterval;
+
+    @ConfigProperty(name = "task-service.change-streams.retry-delay", defaultValue = "2s")
+    Duration retryDelay;
+
+    volatile boolean running;
+
+    void onStart(@Observes final StartupEvent event)
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        // a default such as the host name changes with every pod restart, so positions would never be resumed
+        if (instanceId.isEmpty())
+        {
+            throw new IllegalStateException("Change streams need a stable task-service.change-streams.instance-id, "
+                    + "set CHANGE_STREAMS_INSTANCE_ID");
+        }
+
+        running = true;
+
+        for (var collection : List.of(ItemsChangedEvent.TASKS, ItemsChangedEvent.NOTES))
+        {
+            Thread.ofVirtual().name("change-stream-" + collection).start(() -> follow(collection));
+        }
+    }
+
+    void onStop(@Observes final ShutdownEvent event)
+    {
+        // the loops notice within one await period and save their last position on the way out
+        running = false;
+    }
+
+    void follow(final String collection)
+    {
+        LOGGER.info("Following change stream of {}", collection);
+
+        while (running)
+        {
+            try
+            {
+                followOnce(collection);
+
+            } catch (final RuntimeException e)
+            {
+                // observers failing too, the thread has to outlive them or invalidation across replicas stops
+                retryLater(collection, e);
+            }
+        }
+    }
+
+    private void followOnce(final String collection)
+    {
+        try (var cursor = open(collection))
+        {
+            consume(collection, cursor);
+
+        } catch (final MongoCommandException e)
+        {
+            if (e.getErrorCode() != CHANGE_STREAM_HISTORY_LOST)
+            {
+                throw e;
+            }
+
+            // changes in between are lost, so everything derived from the collection has to go; the token is only
+            // cleared once that went out, a failure before comes back here with the same error
+            LOGGER.warn("Resume token of {} expired, starting over from now", collection);
+            events.fire(new ItemsChangedEvent(collection, null));
+            tokenStore.clear(collection);
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open(final String collection)
+    {
+        // only the owner of the changed item is needed, keeping the looked up documents small. Deletes only come from
+        // the TTL purge of items a soft delete already hid, so they change no list
+        var pipeline = List.of(Aggregates.match(Filters.in("operationType", "insert", "update", "replace")),
+                Aggregates.project(Projections.include("operationType", "ns", "documentKey", "fullDocument.userUid")));
+
+        var stream = mongoClient.getDatabase(database).getCollection(collection).watch(pipeline)
+                .fullDocument(FullDocument.UPDATE_LOOKUP).maxAwaitTime(1, TimeUnit.SECONDS);
+
+        var token = tokenStore.load(collection);
+        if (token != null)
+        {
+            stream = stream.resumeAfter(token);
+        }
+
+        return stream.cursor();
+    }
+
+    private void consume(final String collection, final MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor)
+    {
+        BsonDocument unsavedToken = null;
+        var lastSave = System.nanoTime();
+
+        try
+        {
+            while (running)
+            {
+                var change = cursor.tryNext();
+
+                if (change != null)
+                {
+                    events.fire(new ItemsChangedEvent(collection, userUidOf(change)));
+                }
+
+                var token = cursor.getResumeToken();
+                if (token != null)
+                {
+                    unsavedToken = token;
+                }
+
+                if (unsavedToken != null && System.nanoTime() - lastSave >= tokenSaveInterval.toNanos())
+                {
+                    tokenStore.save(collection, unsavedToken);
+                    unsavedToken = null;
+                    lastSave = System.nanoTime();
+                }
+            }
+        } finally
+        {
+            if (unsavedToken != null)
+            {
+                tokenStore.save(collection, unsavedToken);
+            }
+        }
+    }
+
+    // an update of an item purged before the lookup carries no document, its owner is unknown
+    private static String userUidOf(final ChangeStreamDocument<Document> change)
+    {
+        var document = change.getFullDocument();
+        return document == null ? null : document.getString("userUid");
+    }
+
+    private void retryLater(final String collection, final RuntimeException e)
+    {
+        if (!running)
+        {
+            return;
+        }
+
+        LOGGER.warn("Change stream of {} failed, retrying in {}", collection, retryDelay, e);
+
+        try
+        {
+            Thread.sleep(retryDelay.toMillis());
+
+        } catch (final InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package task.service.events;
+
+/**
+ * Items of a collection changed, fired inside the process for writes made by any replica. A null userUid means the
+ * affected user is unknown and every user of the collection must be treated as changed.
+ */
+public record ItemsChangedEvent(String collection, String userUid)
+{
+    public static final String TASKS = "tasks";
+    public static final String NOTES = "notes";
+}
@@ -0,0 +1,63 @@
+package task.service.events;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Optional;
+
+/**
+ * Keeps the last processed change stream position per instance and collection, so a restarted instance resumes where
+ * it stopped instead of at the current time. Positions not saved within the token retention are removed by a TTL
+ * index on updatedAt, which clears out the ids of retired instances.
+ */
+@ApplicationScoped
+public class ResumeTokenStore
+{
+    public static final String COLLECTION = "change_stream_tokens";
+
+    @Inject
+    MongoClient mongoClient;
+
+    @ConfigProperty(name = "quarkus.mongodb.database")
+    String database;
+
+    // only needed with change streams on, the listener refuses to start without it
+    @ConfigProperty(name = "task-service.change-streams.instance-id")
+    Optional<String> instanceId;
+
+    public BsonDocument load(final String watchedCollection)
+    {
+        var stored = tokens().find(Filters.eq("_id", id(watchedCollection))).first();
+        return stored == null ? null : stored.getDocument("token");
+    }
+
+    public void save(final String watchedCollection, final BsonDocument token)
+    {
+        var document = new BsonDocument("_id", new BsonString(id(watchedCollection))).append("token", token)
+                .append("updatedAt", new BsonDateTime(System.currentTimeMillis()));
+        tokens().replaceOne(Filters.eq("_id", id(watchedCollection)), document, new ReplaceOptions().upsert(true));
+    }
+
+    public void clear(final String watchedCollection)
+    {
+        tokens().deleteOne(Filters.eq("_id", id(watchedCollection)));
+    }
+
+    private String id(final String watchedCollection)
+    {
+        return instanceId.orElseThrow() + ":" + watchedCollection;
+    }
+
+    private MongoCollection<BsonDocument> tokens()
+    {
+        return mongoClient.getDatabase(database).getCollection(COLLECTION, BsonDocument.class);
+    }
+}
@@ -0,0 +1,43 @@
+package task.service.health;
+
+import com.mongodb.client.MongoClient;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+import task.service.indexes.RequiredIndexes;
+
+@Readiness
+@ApplicationScoped
+public class IndexReadinessCheck implements HealthCheck
+{
+    @Inject
+    MongoClient mongoClient;
+
+    @ConfigProperty(name = "quarkus.mongodb.database")
+    String database;
+
+    @Override
+    public HealthCheckResponse call()
+    {
+        var response = HealthCheckResponse.named("indexes");
+
+        try
+        {
+            var missing = RequiredIndexes.missing(mongoClient.getDatabase(database));
+
+            if (missing.isEmpty())
+            {
+                return response.up().build();
+            }
+
+            return response.down().withData("missing", String.join(", ", missing)).build();
+
+        } catch (final Exception e)
+        {
+            return response.down().withData("error", String.valueOf(e.getMessage())).build();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package task.service.health;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+import task.service.warmup.WarmUp;
+
+@Readiness
+@ApplicationScoped
+public class WarmUpReadinessCheck implements HealthCheck
+{
+    @Inject
+    WarmUp warmUp;
+
+    @Override
+    public HealthCheckResponse call()
+    {
+        return HealthCheckResponse.named("warm-up").status(warmUp.isFinished()).build();
+    }
+}
@@ -0,0 +1,166 @@
+package task.service.indexes;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexModel;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.service.events.ResumeTokenStore;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the {@link RequiredIndexes} at startup. Runs in the background since building an index on a large
+ * collection can take a while; the index readiness check keeps the instance out of rotation until they exist.
+ */
+@ApplicationScoped
+public class IndexProvisioner
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(IndexProvisioner.class);
+
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+    @Inject
+    MongoClient mongoClient;
+
+    @ConfigProperty(name = "quarkus.mongodb.database")
+    String database;
+
+    @ConfigProperty(name = "task-service.indexes.create-on-startup", defaultValue = "true")
+    boolean createOnStartup;
+
+    @ConfigProperty(name = "task-service.indexes.retry-delay", defaultValue = "1s")
+    Duration retryDelay;
+
+    @ConfigProperty(name = "task-service.soft-delete.retention", defaultValue = "30d")
+    Duration deleteRetention;
+
+    @ConfigProperty(name = "task-service.change-streams.enabled", defaultValue = "false")
+    boolean changeStreamsEnabled;
+
+    @ConfigProperty(name = "task-service.change-streams.token-retention", defaultValue = "7d")
+    Duration tokenRetention;
+
+    void onStart(@Observes final StartupEvent event)
+    {
+        if (!createOnStartup)
+        {
+            LOGGER.info("Index provisioning disabled");
+            return;
+        }
+
+        Thread.ofVirtual().name("index-provisioning").start(this::provision);
+    }
+
+    /**
+     * Retries with a doubling delay until every index exists, so a failure at startup does not keep the instance out of
+     * rotation for good.
+     */
+    void provision()
+    {
+        var delay = retryDelay;
+
+        while (!provisionOnce())
+        {
+            LOGGER.warn("Index provisioning incomplete, retrying in {}", delay);
+
+            try
+            {
+                Thread.sleep(delay.toMillis());
+
+            } catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            var doubled = delay.multipliedBy(2);
+            delay = doubled.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : doubled;
+        }
+    }
+
+    private boolean provisionOnce()
+    {
+        var mongoDatabase = mongoClient.getDatabase(database);
+        var complete = true;
+
+        for (var entry : RequiredIndexes.BY_COLLECTION.entrySet())
+        {
+            var collection = entry.getKey();
+
+            try
+            {
+                // creating an index that already exists with the same definition is a no-op
+                var created = mongoDatabase.getCollection(collection).createIndexes(entry.getValue());
+                LOGGER.info("Indexes {} ensured on {}", created, collection);
+
+                ensureTtlIndex(mongoDatabase, collection, RequiredIndexes.purgeIndex(deleteRetention));
+
+            } catch (final RuntimeException e)
+            {
+                LOGGER.error("Could not create indexes on {}", collection, e);
+                complete = false;
+            }
+        }
+
+        if (changeStreamsEnabled)
+        {
+            try
+            {
+                ensureTtlIndex(mongoDatabase, ResumeTokenStore.COLLECTION,
+                        RequiredIndexes.tokenExpiryIndex(tokenRetention));
+
+            } catch (final RuntimeException e)
+            {
+                LOGGER.error("Could not create indexes on {}", ResumeTokenStore.COLLECTION, e);
+                complete = false;
+            }
+        }
+
+        return complete;
+    }
+
+    // a create with another expiry fails, an existing index gets its new expiry in place instead; one of the same name
+    // without an expiry, created by hand for example, purges nothing and is replaced
+    private void ensureTtlIndex(final MongoDatabase mongoDatabase, final String collection, final IndexModel index)
+    {
+        var name = index.getOptions().getName();
+        var expireAfterSeconds = index.getOptions().getExpireAfter(TimeUnit.SECONDS);
+        var mongoCollection = mongoDatabase.getCollection(collection);
+
+        var existing = mongoCollection.listIndexes().into(new ArrayList<>()).stream()
+                .filter(present -> name.equals(present.getString("name"))).findFirst().orElse(null);
+
+        if (existing == null)
+        {
+            mongoCollection.createIndexes(List.of(index));
+            LOGGER.info("TTL index {} created on {}, expiring after {}s", name, collection, expireAfterSeconds);
+            return;
+        }
+
+        var existingExpiry = existing.get("expireAfterSeconds", Number.class);
+
+        if (existingExpiry == null)
+        {
+            mongoCollection.dropIndex(name);
+            mongoCollection.createIndexes(List.of(index));
+            LOGGER.info("Index {} on {} replaced by a TTL index expiring after {}s", name, collection,
+                    expireAfterSeconds);
+
+        } else if (existingExpiry.longValue() != expireAfterSeconds)
+        {
+            mongoDatabase.runCommand(new Document("collMod", collection).append("index",
+                    new Document("name", name).append("expireAfterSeconds", expireAfterSeconds)));
+            LOGGER.info("TTL index {} on {} changed to expire after {}s", name, collection, expireAfterSeconds);
+        }
+    }
+}
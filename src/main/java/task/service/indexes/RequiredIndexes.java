@@ -0,0 +1,126 @@
+package task.service.indexes;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Indexes the repository queries rely on, per collection.
+ */
+public final class RequiredIndexes
+{
+    public static final Map<String, List<IndexModel>> BY_COLLECTION = Map.of("tasks",
+            List.of(uidIndex(), userItemsIndex(), userChangesIndex(),
+                    // bounds the live task match of the stats aggregation to the user
+                    new IndexModel(Indexes.ascending("userUid", "deletedAt", "completed", "priority"),
+                            new IndexOptions().name("userUid_deletedAt_completed_priority")),
+                    new IndexModel(Indexes.ascending("userUid", "priority"),
+                            new IndexOptions().name("userUid_priority"))),
+            "notes", List.of(uidIndex(), userItemsIndex(), userChangesIndex(),
+                    new IndexModel(Indexes.ascending("userUid", "deletedAt"),
+                            new IndexOptions().name("userUid_deletedAt"))));
+
+    public static final String PURGE_INDEX_NAME = "deletedAt_ttl";
+
+    public static final String TOKEN_EXPIRY_INDEX_NAME = "updatedAt_ttl";
+
+    RequiredIndexes()
+    {
+    }
+
+    /**
+     * TTL index purging soft deleted items once the retention has passed. Kept apart from the other indexes since the
+     * retention is configured and changing it needs a collMod instead of a create.
+     */
+    public static IndexModel purgeIndex(final Duration retention)
+    {
+        return new IndexModel(Indexes.ascending("deletedAt"),
+                new IndexOptions().name(PURGE_INDEX_NAME).expireAfter(retention.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    /**
+     * TTL index removing change stream positions that were not saved within the retention.
+     */
+    public static IndexModel tokenExpiryIndex(final Duration retention)
+    {
+        return new IndexModel(Indexes.ascending("updatedAt"), new IndexOptions().name(TOKEN_EXPIRY_INDEX_NAME)
+                .expireAfter(retention.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    /**
+     * Names of required indexes not present in the database, as collection.index.
+     */
+    public static List<String> missing(final MongoDatabase database)
+    {
+        var missing = new ArrayList<String>();
+
+        BY_COLLECTION.forEach((collection, required) -> {
+            var existing = new ArrayList<String>();
+            database.getCollection(collection).listIndexes(BsonDocument.class)
+                    .forEach(index -> existing.add(signature(index.getDocument("key"),
+                            index.getBoolean("unique", BsonBoolean.FALSE).getValue(),
+                            index.containsKey("expireAfterSeconds"))));
+
+            for (var index : withPurgeIndex(required))
+            {
+                var keys = index.getKeys().toBsonDocument(BsonDocument.class,
+                        MongoClientSettings.getDefaultCodecRegistry());
+
+                if (!existing.contains(signature(keys, index.getOptions().isUnique(),
+                        index.getOptions().getExpireAfter(TimeUnit.SECONDS) != null)))
+                {
+                    missing.add(collection + "." + index.getOptions().getName());
+                }
+            }
+        });
+
+        return missing;
+    }
+
+    // the retention does not matter for presence, only that the index expires at all
+    private static List<IndexModel> withPurgeIndex(final List<IndexModel> required)
+    {
+        var indexes = new ArrayList<>(required);
+        indexes.add(purgeIndex(Duration.ZERO));
+        return indexes;
+    }
+
+    // unique by uid, also serves every findByUid
+    private static IndexModel uidIndex()
+    {
+        return new IndexModel(Indexes.ascending("uid"), new IndexOptions().name("uid_unique").unique(true));
+    }
+
+    // serves the plain userUid lookups as a prefix and the (createdAt, uid) keyset pagination
+    private static IndexModel userItemsIndex()
+    {
+        return new IndexModel(Indexes.ascending("userUid", "createdAt", "uid"),
+                new IndexOptions().name("userUid_createdAt_uid"));
+    }
+
+    // serves delta sync, the items of a user changed after a watermark
+    private static IndexModel userChangesIndex()
+    {
+        return new IndexModel(Indexes.ascending("userUid", "updatedAt"), new IndexOptions().name("userUid_updatedAt"));
+    }
+
+    // key order and direction only, indexes created by hand may store 1 as a double
+    private static String signature(final BsonDocument keys, final boolean unique, final boolean expiring)
+    {
+        return keys.entrySet().stream()
+                .map(key -> key.getKey() + ":"
+                        + (key.getValue().isNumber() ? key.getValue().asNumber().intValue() : key.getValue()))
+                .collect(Collectors.joining(",")) + (unique ? ":unique" : "") + (expiring ? ":ttl" : "");
+    }
+}
@@ -0,0 +1,58 @@
+package task.service.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import task.service.models.ResponseEnvelope;
+
+import java.io.IOException;
+
+/**
+ * Streams the envelope straight to the generator instead of building a map per response. Lists in data go through
+ * the collection serializer, which resolves {@link TaskSerializer} and {@link NoteSerializer} once per type.
+ */
+public final class EnvelopeSerializer extends StdSerializer<ResponseEnvelope>
+{
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString CODE = new SerializedString("code");
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString NEXT_CURSOR = new SerializedString("nextCursor");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString SUCCESS = new SerializedString("success");
+    private static final SerializedString ERROR = new SerializedString("error");
+
+    public EnvelopeSerializer()
+    {
+        super(ResponseEnvelope.class);
+    }
+
+    @Override
+    public void serialize(final ResponseEnvelope envelope, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException
+    {
+        var error = envelope.getKind() == ResponseEnvelope.Kind.ERROR;
+
+        gen.writeStartObject(envelope);
+        gen.writeFieldName(STATUS);
+        gen.writeString(error ? ERROR : SUCCESS);
+        gen.writeFieldName(CODE);
+        gen.writeNumber(envelope.getCode());
+
+        if (error)
+        {
+            JsonFields.writeString(gen, MESSAGE, envelope.getMessage());
+        } else
+        {
+            gen.writeFieldName(DATA);
+            provider.defaultSerializeValue(envelope.getData(), gen);
+        }
+
+        if (envelope.getKind() == ResponseEnvelope.Kind.PAGED)
+        {
+            JsonFields.writeString(gen, NEXT_CURSOR, envelope.getNextCursor());
+        }
+
+        gen.writeEndObject();
+    }
+}
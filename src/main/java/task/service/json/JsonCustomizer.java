@@ -0,0 +1,34 @@
+package task.service.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.quarkus.jackson.ObjectMapperCustomizer;
+import io.quarkus.runtime.ImageMode;
+import jakarta.inject.Singleton;
+
+/**
+ * Registers the response serializers on the application mapper, which the REST layer and the NDJSON streams share.
+ * Blackbird replaces reflective getter and setter calls of the remaining bean types (payloads, stats, batch results)
+ * with generated lambdas. It is skipped in native images, which cannot define classes at runtime.
+ */
+@Singleton
+public class JsonCustomizer implements ObjectMapperCustomizer
+{
+    @Override
+    public void customize(final ObjectMapper mapper)
+    {
+        configure(mapper);
+    }
+
+    public static ObjectMapper configure(final ObjectMapper mapper)
+    {
+        mapper.registerModule(new ResponseJsonModule());
+
+        if (!ImageMode.current().isNativeImage())
+        {
+            mapper.registerModule(new BlackbirdModule());
+        }
+
+        return mapper;
+    }
+}
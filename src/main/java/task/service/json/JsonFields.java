@@ -0,0 +1,50 @@
+package task.service.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.io.IOException;
+
+/**
+ * Nullable field writes for the serializers, null values are written as null like the bean serializer did.
+ */
+final class JsonFields
+{
+    JsonFields()
+    {
+    }
+
+    static void writeString(final JsonGenerator gen, final SerializableString name, final String value)
+            throws IOException
+    {
+        gen.writeFieldName(name);
+
+        if (value == null)
+        {
+            gen.writeNull();
+        } else
+        {
+            gen.writeString(value);
+        }
+    }
+
+    static void writeLong(final JsonGenerator gen, final SerializableString name, final Long value) throws IOException
+    {
+        gen.writeFieldName(name);
+
+        if (value == null)
+        {
+            gen.writeNull();
+        } else
+        {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    static void writeBoolean(final JsonGenerator gen, final SerializableString name, final boolean value)
+            throws IOException
+    {
+        gen.writeFieldName(name);
+        gen.writeBoolean(value);
+    }
+}
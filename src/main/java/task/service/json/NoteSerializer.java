@@ -0,0 +1,45 @@
+package task.service.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import task.service.models.Note;
+
+import java.io.IOException;
+
+import static task.service.json.JsonFields.*;
+
+/**
+ * Writes the public fields of a note, see {@link TaskSerializer}.
+ */
+public final class NoteSerializer extends StdSerializer<Note>
+{
+    private static final SerializedString UID = new SerializedString("uid");
+    private static final SerializedString USER_UID = new SerializedString("userUid");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString TEXT = new SerializedString("text");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    public NoteSerializer()
+    {
+        super(Note.class);
+    }
+
+    @Override
+    public void serialize(final Note note, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException
+    {
+        gen.writeStartObject(note);
+        writeString(gen, UID, note.getUid());
+        writeString(gen, USER_UID, note.getUserUid());
+        writeString(gen, TYPE, note.getType());
+        writeString(gen, TITLE, note.getTitle());
+        writeString(gen, TEXT, note.getText());
+        writeLong(gen, CREATED_AT, note.getCreatedAt());
+        writeLong(gen, UPDATED_AT, note.getUpdatedAt());
+        gen.writeEndObject();
+    }
+}
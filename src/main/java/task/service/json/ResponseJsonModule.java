@@ -0,0 +1,20 @@
+package task.service.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import task.service.models.Note;
+import task.service.models.ResponseEnvelope;
+import task.service.models.Task;
+
+/**
+ * The hand written serializers of the hot response types.
+ */
+public final class ResponseJsonModule extends SimpleModule
+{
+    public ResponseJsonModule()
+    {
+        super("task-service-responses");
+        addSerializer(ResponseEnvelope.class, new EnvelopeSerializer());
+        addSerializer(Task.class, new TaskSerializer());
+        addSerializer(Note.class, new NoteSerializer());
+    }
+}
@@ -0,0 +1,52 @@
+package task.service.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import task.service.models.Task;
+
+import java.io.IOException;
+
+import static task.service.json.JsonFields.*;
+
+/**
+ * Writes the public fields of a task in declaration order with pre-encoded names. Fields annotated with JsonIgnore on
+ * {@link Task} are left out and must stay so when fields are added.
+ */
+public final class TaskSerializer extends StdSerializer<Task>
+{
+    private static final SerializedString UID = new SerializedString("uid");
+    private static final SerializedString USER_UID = new SerializedString("userUid");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString PRIORITY = new SerializedString("priority");
+    private static final SerializedString COMPLETED = new SerializedString("completed");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString COMPLETED_AT = new SerializedString("completedAt");
+
+    public TaskSerializer()
+    {
+        super(Task.class);
+    }
+
+    @Override
+    public void serialize(final Task task, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException
+    {
+        gen.writeStartObject(task);
+        writeString(gen, UID, task.getUid());
+        writeString(gen, USER_UID, task.getUserUid());
+        writeString(gen, TYPE, task.getType());
+        writeString(gen, TITLE, task.getTitle());
+        writeString(gen, DESCRIPTION, task.getDescription());
+        writeBoolean(gen, PRIORITY, task.isPriority());
+        writeBoolean(gen, COMPLETED, task.isCompleted());
+        writeLong(gen, CREATED_AT, task.getCreatedAt());
+        writeLong(gen, UPDATED_AT, task.getUpdatedAt());
+        writeLong(gen, COMPLETED_AT, task.getCompletedAt());
+        gen.writeEndObject();
+    }
+}
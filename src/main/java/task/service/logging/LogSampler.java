@@ -0,0 +1,37 @@
+package task.service.logging;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most a given number of log lines per second through, lock free so sampling costs the request thread two
+ * atomic operations. The window resets on the first call of a new second, so bursts at a boundary may pass twice.
+ */
+public final class LogSampler
+{
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicInteger taken = new AtomicInteger();
+
+    public boolean tryAcquire(final int perSecond)
+    {
+        return tryAcquire(perSecond, System.currentTimeMillis());
+    }
+
+    boolean tryAcquire(final int perSecond, final long now)
+    {
+        if (perSecond <= 0)
+        {
+            return false;
+        }
+
+        var window = now / 1000;
+        var current = windowStart.get();
+
+        if (window != current && windowStart.compareAndSet(current, window))
+        {
+            taken.set(0);
+        }
+
+        return taken.incrementAndGet() <= perSecond;
+    }
+}
@@ -0,0 +1,45 @@
+package task.service.logging;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.service.models.BatchResult;
+import task.service.models.payloads.ItemPayload;
+
+/**
+ * One compact key/value line per write, built from values the service already has, so logging never needs an extra
+ * query. Payloads are only logged at DEBUG and sampled, a write burst cannot flood the log. Formatting and output
+ * happen on the async console handler, see quarkus.log.console.async in application.yml.
+ */
+@ApplicationScoped
+public class WriteEventLog
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(WriteEventLog.class);
+
+    @ConfigProperty(name = "task-service.logging.payload-samples-per-second", defaultValue = "10")
+    int payloadSamplesPerSecond;
+
+    private final LogSampler payloadSampler = new LogSampler();
+
+    public void written(final String event, final String uid, final String userUid, final ItemPayload payload)
+    {
+        LOGGER.info("event={} uid={} userUid={}", event, uid, userUid);
+
+        if (payload != null && LOGGER.isDebugEnabled() && payloadSampler.tryAcquire(payloadSamplesPerSecond))
+        {
+            LOGGER.debug("event={}.payload uid={} payload={}", event, uid, payload);
+        }
+    }
+
+    public void deleted(final String event, final String uid, final String userUid)
+    {
+        LOGGER.info("event={} uid={} userUid={}", event, uid, userUid);
+    }
+
+    public void batch(final String event, final String userUid, final int operations, final BatchResult result)
+    {
+        LOGGER.info("event={} userUid={} operations={} inserted={} modified={} deleted={}", event, userUid,
+                operations, result.getInsertedCount(), result.getModifiedCount(), result.getDeletedCount());
+    }
+}
@@ -0,0 +1,39 @@
+package task.service.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+
+/**
+ * Publishes latency timers as histograms, so percentiles can be aggregated across instances in Prometheus instead of
+ * being computed per instance.
+ */
+@Singleton
+public class LatencyHistograms
+{
+    private static final List<String> HISTOGRAM_PREFIXES = List.of("http.server.requests", "task.repository",
+            "mongodb.driver");
+
+    @Produces
+    @Singleton
+    public MeterFilter histogramFilter()
+    {
+        return new MeterFilter()
+        {
+            @Override
+            public DistributionStatisticConfig configure(final Meter.Id id, final DistributionStatisticConfig config)
+            {
+                if (HISTOGRAM_PREFIXES.stream().noneMatch(prefix -> id.getName().startsWith(prefix)))
+                {
+                    return config;
+                }
+
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        };
+    }
+}
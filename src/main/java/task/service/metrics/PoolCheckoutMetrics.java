@@ -0,0 +1,58 @@
+package task.service.metrics;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.mongodb.runtime.MongoClientCustomizer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times how long requests wait for a pooled Mongo connection. Pool size and connections in use are published by the
+ * built-in listeners enabled with quarkus.mongodb.metrics.enabled, the wait is what tells whether the pool is too
+ * small.
+ */
+@ApplicationScoped
+public class PoolCheckoutMetrics implements MongoClientCustomizer
+{
+    @Inject
+    MeterRegistry registry;
+
+    @Override
+    public MongoClientSettings.Builder customize(final MongoClientSettings.Builder builder)
+    {
+        return builder.applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(listener(registry)));
+    }
+
+    static ConnectionPoolListener listener(final MeterRegistry registry)
+    {
+        var checkedOut = checkoutTimer(registry, "success");
+        var failed = checkoutTimer(registry, "failed");
+
+        return new ConnectionPoolListener()
+        {
+            @Override
+            public void connectionCheckedOut(final ConnectionCheckedOutEvent event)
+            {
+                checkedOut.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void connectionCheckOutFailed(final ConnectionCheckOutFailedEvent event)
+            {
+                failed.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private static Timer checkoutTimer(final MeterRegistry registry, final String result)
+    {
+        return Timer.builder("mongodb.driver.pool.checkout").description("Wait for a pooled connection")
+                .tag("result", result).register(registry);
+    }
+}
@@ -0,0 +1,27 @@
+package task.service.models;
+
+import lombok.Data;
+import task.service.models.payloads.BatchAction;
+
+@Data
+public final class BatchItemResult
+{
+    public static final String ACCEPTED = "accepted";
+    public static final String INVALID = "invalid";
+    public static final String FAILED = "failed";
+    public static final String NOT_FOUND = "not_found";
+
+    public BatchItemResult(final int index, final BatchAction action, final String itemUid, final String status)
+    {
+        this.index = index;
+        this.action = action;
+        this.itemUid = itemUid;
+        this.status = status;
+    }
+
+    private int index;
+    private BatchAction action;
+    private String itemUid;
+    private String status;
+    private String message;
+}
@@ -0,0 +1,27 @@
+package task.service.models;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Per item outcome of a batch plus the totals reported by the database. An update or delete whose uid did not match a
+ * live item of the user is reported as not_found. Deletes are soft, so the database counts them as matched and
+ * modified, and deletedCount is the number of deletes that matched. Which items are live is read before the write:
+ * when another request deletes one of them in between, the operation on it is still reported as accepted, and
+ * matchedCount is lower than the accepted updates and deletes.
+ */
+@Data
+public final class BatchResult
+{
+    public BatchResult(final List<BatchItemResult> items)
+    {
+        this.items = items;
+    }
+
+    private List<BatchItemResult> items;
+    private int insertedCount;
+    private int matchedCount;
+    private int modifiedCount;
+    private int deletedCount;
+}
@@ -0,0 +1,19 @@
+package task.service.models;
+
+public enum ListView
+{
+    FULL, SUMMARY;
+
+    /**
+     * Parses the view query parameter, absent means full. Returns null for unknown values.
+     */
+    public static ListView parse(final String value)
+    {
+        if (value == null || value.equalsIgnoreCase("full"))
+        {
+            return FULL;
+        }
+
+        return value.equalsIgnoreCase("summary") ? SUMMARY : null;
+    }
+}
@@ -7,6 +7,8 @@ import org.bson.BsonType;
 import org.bson.codecs.pojo.annotations.BsonId;
 import org.bson.codecs.pojo.annotations.BsonRepresentation;
 
+import java.util.Date;
+
 @Data
 @MongoEntity(collection = "notes")
 public final class Note
@@ -24,6 +26,10 @@ public final class Note
     private Long createdAt;
     private Long updatedAt;
 
+    // set by a delete, the item stays hidden until the TTL index purges it
+    @JsonIgnore
+    private Date deletedAt;
+
     @Override
     public String toString()
     {
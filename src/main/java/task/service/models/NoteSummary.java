@@ -0,0 +1,18 @@
+package task.service.models;
+
+import io.quarkus.mongodb.panache.common.ProjectionFor;
+import lombok.Data;
+
+/**
+ * What list views show of a note, read with a field projection so the text never leaves the database.
+ */
+@Data
+@ProjectionFor(Note.class)
+public final class NoteSummary
+{
+    private String uid;
+    private String type;
+    private String title;
+    private Long createdAt;
+    private Long updatedAt;
+}
@@ -0,0 +1,52 @@
+package task.service.models;
+
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a (createdAt, uid) ordered listing, handed to clients as an opaque token. Items stored without
+ * createdAt sort first, their position is encoded with an empty createdAt.
+ */
+@Data
+public final class PageCursor
+{
+    private static final String SEPARATOR = "|";
+
+    public PageCursor(final Long createdAt, final String uid)
+    {
+        this.createdAt = createdAt;
+        this.uid = uid;
+    }
+
+    private Long createdAt;
+    private String uid;
+
+    public String encode()
+    {
+        var raw = (createdAt == null ? "" : createdAt.toString()) + SEPARATOR + uid;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(final String token)
+    {
+        try
+        {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separatorIndex = raw.indexOf(SEPARATOR);
+
+            if (separatorIndex < 0 || separatorIndex == raw.length() - 1)
+            {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+
+            var createdAt = separatorIndex == 0 ? null : Long.parseLong(raw.substring(0, separatorIndex));
+            return new PageCursor(createdAt, raw.substring(separatorIndex + 1));
+        } catch (final IllegalArgumentException e)
+        {
+            // NumberFormatException is an IllegalArgumentException as well
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package task.service.models;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+public final class PagedResult<T>
+{
+    public PagedResult(final List<T> items, final String nextCursor)
+    {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Builds a page from a query that fetched one item more than the page size, the extra item only tells whether
+     * there is a next page and is not returned.
+     */
+    public static <T> PagedResult<T> of(final List<T> fetched, final int limit, final Function<T, PageCursor> cursorOf)
+    {
+        if (fetched.size() <= limit)
+        {
+            return new PagedResult<>(fetched, null);
+        }
+
+        var items = fetched.subList(0, limit);
+        var nextCursor = cursorOf.apply(items.get(limit - 1)).encode();
+
+        return new PagedResult<>(items, nextCursor);
+    }
+}
@@ -0,0 +1,47 @@
+package task.service.models;
+
+import lombok.Getter;
+
+/**
+ * Body of every JSON response. Written by the envelope serializer in task.service.json, which only writes the fields
+ * of the kind at hand: data for success, data and nextCursor (also when null) for pages, message for errors.
+ */
+@Getter
+public final class ResponseEnvelope
+{
+    public enum Kind
+    {
+        SUCCESS, PAGED, ERROR
+    }
+
+    private ResponseEnvelope(final Kind kind, final int code, final Object data, final String nextCursor,
+            final String message)
+    {
+        this.kind = kind;
+        this.code = code;
+        this.data = data;
+        this.nextCursor = nextCursor;
+        this.message = message;
+    }
+
+    private final Kind kind;
+    private final int code;
+    private final Object data;
+    private final String nextCursor;
+    private final String message;
+
+    public static ResponseEnvelope success(final int code, final Object data)
+    {
+        return new ResponseEnvelope(Kind.SUCCESS, code, data, null, null);
+    }
+
+    public static ResponseEnvelope paged(final int code, final Object data, final String nextCursor)
+    {
+        return new ResponseEnvelope(Kind.PAGED, code, data, nextCursor, null);
+    }
+
+    public static ResponseEnvelope error(final int code, final String message)
+    {
+        return new ResponseEnvelope(Kind.ERROR, code, null, null, message);
+    }
+}
@@ -0,0 +1,24 @@
+package task.service.models;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Items changed and uids deleted since a client's watermark, plus the watermark for its next call. Consecutive deltas
+ * overlap a little, so clients must apply them idempotently.
+ */
+@Data
+public final class SyncDelta<T>
+{
+    public SyncDelta(final List<T> items, final List<String> deletedUids, final long watermark)
+    {
+        this.items = items;
+        this.deletedUids = deletedUids;
+        this.watermark = watermark;
+    }
+
+    private List<T> items;
+    private List<String> deletedUids;
+    private long watermark;
+}
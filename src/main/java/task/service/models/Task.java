@@ -7,6 +7,8 @@ import org.bson.BsonType;
 import org.bson.codecs.pojo.annotations.BsonId;
 import org.bson.codecs.pojo.annotations.BsonRepresentation;
 
+import java.util.Date;
+
 @Data
 @MongoEntity(collection = "tasks")
 public final class Task
@@ -27,6 +29,10 @@ public final class Task
     private Long updatedAt;
     private Long completedAt;
 
+    // set by a delete, the item stays hidden until the TTL index purges it
+    @JsonIgnore
+    private Date deletedAt;
+
     @Override
     public String toString()
     {
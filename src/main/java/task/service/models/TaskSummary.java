@@ -0,0 +1,21 @@
+package task.service.models;
+
+import io.quarkus.mongodb.panache.common.ProjectionFor;
+import lombok.Data;
+
+/**
+ * What list views show of a task, read with a field projection so the description never leaves the database.
+ */
+@Data
+@ProjectionFor(Task.class)
+public final class TaskSummary
+{
+    private String uid;
+    private String type;
+    private String title;
+    private boolean priority;
+    private boolean completed;
+    private Long createdAt;
+    private Long updatedAt;
+    private Long completedAt;
+}
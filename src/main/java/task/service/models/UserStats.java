@@ -0,0 +1,16 @@
+package task.service.models;
+
+import lombok.Data;
+
+/**
+ * Item counts of a user. There is no due date on tasks, so open counts every task not yet completed.
+ */
+@Data
+public final class UserStats
+{
+    private long tasks;
+    private long completedTasks;
+    private long openTasks;
+    private long priorityTasks;
+    private long notes;
+}
@@ -0,0 +1,15 @@
+package task.service.models.payloads;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public enum BatchAction
+{
+    @JsonProperty("create")
+    CREATE,
+
+    @JsonProperty("update")
+    UPDATE,
+
+    @JsonProperty("delete")
+    DELETE
+}
@@ -0,0 +1,29 @@
+package task.service.models.payloads;
+
+import lombok.Data;
+
+/**
+ * One entry of a batch request, itemUid is required for update and delete, payload for create and update.
+ */
+@Data
+public final class BatchOperation<P extends ItemPayload>
+{
+    private BatchAction action;
+    private String itemUid;
+    private P payload;
+
+    public boolean isValid()
+    {
+        if (action == null)
+        {
+            return false;
+        }
+
+        return switch (action)
+        {
+            case CREATE -> payload != null && payload.isValidForCreate();
+            case UPDATE -> itemUid != null && payload != null && payload.isValidForUpdate();
+            case DELETE -> itemUid != null;
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package task.service.models.payloads;
+
+public interface ItemPayload
+{
+    boolean isValidForCreate();
+
+    boolean isValidForUpdate();
+}
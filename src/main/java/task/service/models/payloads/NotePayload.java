@@ -5,7 +5,7 @@ import lombok.RequiredArgsConstructor;
 
 @Data
 @RequiredArgsConstructor
-public class NotePayload
+public class NotePayload implements ItemPayload
 {
     public NotePayload(final String title, final String text)
     {
@@ -16,11 +16,13 @@ public class NotePayload
     private String title;
     private String text;
 
+    @Override
     public boolean isValidForCreate()
     {
         return title != null && !title.trim().isEmpty() && text != null;
     }
 
+    @Override
     public boolean isValidForUpdate()
     {
         return title != null || text != null;
@@ -5,7 +5,7 @@ import lombok.RequiredArgsConstructor;
 
 @Data
 @RequiredArgsConstructor
-public final class TaskPayload
+public final class TaskPayload implements ItemPayload
 {
     public TaskPayload(final String title, final String description, final boolean priority, final boolean completed)
     {
@@ -20,11 +20,13 @@ public final class TaskPayload
     private Boolean priority;
     private Boolean completed;
 
+    @Override
     public boolean isValidForCreate()
     {
         return title != null && !title.trim().isEmpty() && description != null && priority != null && completed != null;
     }
 
+    @Override
     public boolean isValidForUpdate()
     {
         return title != null || description != null || priority != null || completed != null;
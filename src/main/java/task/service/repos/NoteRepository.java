@@ -1,27 +1,244 @@
 package task.service.repos;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.WriteModel;
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.mongodb.panache.PanacheMongoRepository;
+import io.smallrye.faulttolerance.api.RetryWhen;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Retry;
+import org.eclipse.microprofile.faulttolerance.Timeout;
+import task.service.cache.ListRevision;
 import task.service.models.Note;
+import task.service.models.NoteSummary;
+import task.service.models.PageCursor;
+import task.service.resilience.TransientMongoError;
+import task.service.tracing.TracedLayer;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+// every query is timed per method, see LatencyHistograms
+// the server ends a read after a second unless the method allows longer, @Timeout only backs that up, writes time out
+// only once the driver gave up, reads are retried on failover errors, and the breaker of a method opens when half of
+// its last 20 calls failed for reasons other than bad input
+@Timed(value = "task.repository", extraTags = {"collection", "notes"})
 @ApplicationScoped
+@TracedLayer("repository")
+@Timeout(TaskRepository.READ_TIMEOUT_MILLIS)
+@CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 5000, successThreshold = 2, skipOn = {
+        MongoWriteException.class, MongoBulkWriteException.class, IllegalArgumentException.class})
 public class NoteRepository implements PanacheMongoRepository<Note>
 {
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private static final Document PAGE_SORT = new Document("createdAt", 1).append("uid", 1);
+
+    // the userUid_updatedAt index holds every field the revision needs
+    private static final Document REVISION_HINT = new Document("userUid", 1).append("updatedAt", 1);
+
+    // the fields of NoteSummary
+    private static final Bson SUMMARY_FIELDS = Projections.fields(
+            Projections.include("uid", "type", "title", "createdAt", "updatedAt"), Projections.excludeId());
+
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
     public Note findById(final String id)
     {
-        return findById(new ObjectId(id));
+        return query(new Document("_id", new ObjectId(id)).append("deletedAt", null),
+                TaskRepository.READ_MAX_TIME_MILLIS).first();
     }
 
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
     public Note findByUid(final String uid)
     {
-        return find("uid", uid).firstResult();
+        return query(liveItem(uid), TaskRepository.READ_MAX_TIME_MILLIS).first();
     }
 
+    @Override
+    @Timeout(TaskRepository.WRITE_TIMEOUT_MILLIS)
+    public void persist(final Note note)
+    {
+        PanacheMongoRepository.super.persist(note);
+    }
+
+    /**
+     * Applies an update pipeline to the item in a single round trip and returns it as stored afterwards, or null when
+     * no item has the uid. Soft deletes go through here as well.
+     */
+    @Timeout(TaskRepository.WRITE_TIMEOUT_MILLIS)
+    public Note findAndUpdate(final String uid, final List<Document> pipeline)
+    {
+        return mongoCollection().findOneAndUpdate(liveItem(uid), pipeline,
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+    }
+
+    @Timeout(TaskRepository.WRITE_TIMEOUT_MILLIS)
+    public BulkWriteResult bulkWrite(final List<WriteModel<Note>> models)
+    {
+        // unordered lets the server apply independent writes in parallel and continue past failing ones
+        return mongoCollection().bulkWrite(models, new BulkWriteOptions().ordered(false));
+    }
+
+    /**
+     * Revision of the user's items, their count and the sum of their updatedAt with soft deleted ones included.
+     * Computed from the keys of the userUid_updatedAt index, no document is fetched.
+     */
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public ListRevision findRevision(final String userUid)
+    {
+        var pipeline = List.of(new Document("$match", new Document("userUid", userUid)),
+                new Document("$group", new Document("_id", null).append("items", new Document("$sum", 1))
+                        .append("updatedAtSum", new Document("$sum", "$updatedAt"))));
+
+        var result = mongoCollection().aggregate(pipeline, Document.class).hint(REVISION_HINT)
+                .maxTime(TaskRepository.READ_MAX_TIME_MILLIS, TimeUnit.MILLISECONDS).first();
+
+        if (result == null)
+        {
+            return new ListRevision(0, 0);
+        }
+
+        // items without updatedAt add nothing to the sum
+        return new ListRevision(result.get("items", Number.class).longValue(),
+                result.get("updatedAtSum", Number.class).longValue());
+    }
+
+    /**
+     * Uids among the given ones of the user's live items. Tells which updates and deletes of a bulk write will match,
+     * served by the uid_unique index.
+     */
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public Set<String> findLiveUids(final String userUid, final List<String> uids)
+    {
+        var found = new HashSet<String>();
+        mongoCollection().find(new Document("uid", new Document("$in", uids)).append("userUid", userUid)
+                .append("deletedAt", null), Document.class).projection(Projections.include("uid"))
+                .maxTime(TaskRepository.READ_MAX_TIME_MILLIS, TimeUnit.MILLISECONDS)
+                .forEach(item -> found.add(item.getString("uid")));
+        return found;
+    }
+
+    @Timeout(TaskRepository.LIST_READ_TIMEOUT_MILLIS)
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
     public List<Note> findByUserUid(final String userUid)
     {
-        return list("userUid", userUid);
+        return query(liveItems(userUid), TaskRepository.LIST_READ_MAX_TIME_MILLIS).into(new ArrayList<>());
+    }
+
+    /**
+     * Items of the user changed after the watermark, soft deleted ones included so deletions reach delta sync.
+     */
+    @Timeout(TaskRepository.LIST_READ_TIMEOUT_MILLIS)
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public List<Note> findUpdatedSince(final String userUid, final long since)
+    {
+        return query(new Document("userUid", userUid).append("updatedAt", new Document("$gt", since)),
+                TaskRepository.LIST_READ_MAX_TIME_MILLIS).sort(new Document("updatedAt", 1)).into(new ArrayList<>());
+    }
+
+    @Timeout(TaskRepository.LIST_READ_TIMEOUT_MILLIS)
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public List<NoteSummary> findSummariesByUserUid(final String userUid)
+    {
+        return summaryQuery(liveItems(userUid), TaskRepository.LIST_READ_MAX_TIME_MILLIS).into(new ArrayList<>());
+    }
+
+    /**
+     * Opens a driver cursor over all items of the user. Panache's query stream() materializes the whole list first, so
+     * the collection is queried directly to keep memory bounded by the batch size. The caller must close the cursor.
+     */
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public MongoCursor<Note> streamByUserUid(final String userUid)
+    {
+        return query(liveItems(userUid), TaskRepository.LIST_READ_MAX_TIME_MILLIS).batchSize(STREAM_BATCH_SIZE)
+                .cursor();
+    }
+
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public MongoCursor<NoteSummary> streamSummariesByUserUid(final String userUid)
+    {
+        return summaryQuery(liveItems(userUid), TaskRepository.LIST_READ_MAX_TIME_MILLIS)
+                .batchSize(STREAM_BATCH_SIZE).cursor();
+    }
+
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public List<Note> findPageByUserUid(final String userUid, final PageCursor after, final int limit)
+    {
+        return query(pageQuery(userUid, after), TaskRepository.READ_MAX_TIME_MILLIS).sort(PAGE_SORT).limit(limit)
+                .into(new ArrayList<>());
+    }
+
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public List<NoteSummary> findSummaryPageByUserUid(final String userUid, final PageCursor after, final int limit)
+    {
+        return summaryQuery(pageQuery(userUid, after), TaskRepository.READ_MAX_TIME_MILLIS).sort(PAGE_SORT).limit(limit)
+                .into(new ArrayList<>());
+    }
+
+    private FindIterable<Note> query(final Bson filter, final long maxTimeMillis)
+    {
+        return mongoCollection().find(filter).maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private FindIterable<NoteSummary> summaryQuery(final Bson filter, final long maxTimeMillis)
+    {
+        return mongoCollection().withDocumentClass(NoteSummary.class).find(filter).projection(SUMMARY_FIELDS)
+                .maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static Document pageQuery(final String userUid, final PageCursor after)
+    {
+        var query = liveItems(userUid);
+
+        if (after != null)
+        {
+            // keyset condition: everything strictly after (createdAt, uid) of the last item on the previous page; a
+            // missing createdAt sorts before every number, so after such an item come the rest of them and all others
+            var later = after.getCreatedAt() == null
+                    ? new Document("createdAt", new Document("$gt", Long.MIN_VALUE))
+                    : new Document("createdAt", new Document("$gt", after.getCreatedAt()));
+
+            query.append("$or", List.of(later,
+                    new Document("createdAt", after.getCreatedAt()).append("uid", new Document("$gt", after.getUid()))));
+        }
+
+        return query;
+    }
+
+    // a null match also covers items stored before soft delete existed, which have no deletedAt at all
+    private static Document liveItem(final String uid)
+    {
+        return new Document("uid", uid).append("deletedAt", null);
+    }
+
+    private static Document liveItems(final String userUid)
+    {
+        return new Document("userUid", userUid).append("deletedAt", null);
     }
 }
@@ -0,0 +1,47 @@
+package task.service.repos;
+
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepository;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.Document;
+import task.service.models.Note;
+
+import java.util.List;
+
+@ApplicationScoped
+public class ReactiveNoteRepository implements ReactivePanacheMongoRepository<Note>
+{
+    public Uni<Note> findByUid(final String uid)
+    {
+        return find(new Document("uid", uid).append("deletedAt", null)).firstResult();
+    }
+
+    /**
+     * Applies an update pipeline to the live item with the uid and returns it as stored afterwards, or null when
+     * there is none.
+     */
+    public Uni<Note> findAndUpdate(final String uid, final List<Document> pipeline)
+    {
+        return mongoCollection().findOneAndUpdate(new Document("uid", uid).append("deletedAt", null), pipeline,
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+    }
+
+    public Uni<List<Note>> findByUserUid(final String userUid)
+    {
+        return list(liveItems(userUid));
+    }
+
+    public Multi<Note> streamByUserUid(final String userUid)
+    {
+        // unlike the blocking variant the reactive stream is backed by the driver cursor
+        return stream(liveItems(userUid));
+    }
+
+    private static Document liveItems(final String userUid)
+    {
+        return new Document("userUid", userUid).append("deletedAt", null);
+    }
+}
@@ -0,0 +1,57 @@
+package task.service.repos;
+
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepository;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.Document;
+import task.service.models.Task;
+
+import java.util.List;
+
+@ApplicationScoped
+public class ReactiveTaskRepository implements ReactivePanacheMongoRepository<Task>
+{
+    public Uni<Task> findByUid(final String uid)
+    {
+        return find(new Document("uid", uid).append("deletedAt", null)).firstResult();
+    }
+
+    /**
+     * Applies an update pipeline to the live item with the uid and returns it as stored afterwards, or null when
+     * there is none.
+     */
+    public Uni<Task> findAndUpdate(final String uid, final List<Document> pipeline)
+    {
+        return mongoCollection().findOneAndUpdate(new Document("uid", uid).append("deletedAt", null), pipeline,
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+    }
+
+    public Uni<List<Task>> findByUserUid(final String userUid)
+    {
+        return list(liveItems(userUid));
+    }
+
+    public Multi<Task> streamByUserUid(final String userUid)
+    {
+        // unlike the blocking variant the reactive stream is backed by the driver cursor
+        return stream(liveItems(userUid));
+    }
+
+    public Uni<List<Task>> findCompletedByUserUid(final String userUid)
+    {
+        return list(liveItems(userUid).append("completed", true));
+    }
+
+    public Uni<List<Task>> findPriorityByUserUid(final String userUid)
+    {
+        return list(liveItems(userUid).append("priority", true));
+    }
+
+    private static Document liveItems(final String userUid)
+    {
+        return new Document("userUid", userUid).append("deletedAt", null);
+    }
+}
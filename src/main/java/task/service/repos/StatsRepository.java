@@ -0,0 +1,100 @@
+package task.service.repos;
+
+import com.mongodb.client.MongoClient;
+import io.micrometer.core.annotation.Timed;
+import io.smallrye.faulttolerance.api.RetryWhen;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Retry;
+import org.eclipse.microprofile.faulttolerance.Timeout;
+import task.service.models.UserStats;
+import task.service.resilience.TransientMongoError;
+import task.service.tracing.TracedLayer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// counts across the task and the note collection, so it belongs to neither item repository; bounded and retried like
+// their list reads, see TaskRepository
+@Timed(value = "task.repository", extraTags = {"collection", "stats"})
+@ApplicationScoped
+@TracedLayer("repository")
+@CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 5000, successThreshold = 2)
+public class StatsRepository
+{
+    static final String TASKS_COLLECTION = "tasks";
+    static final String NOTES_COLLECTION = "notes";
+
+    @Inject
+    MongoClient mongoClient;
+
+    @ConfigProperty(name = "quarkus.mongodb.database")
+    String database;
+
+    /**
+     * Counts the live tasks and notes of the user in one aggregation. Both branches match on the userUid_deletedAt
+     * indexes and project to the counted fields before grouping, so only the flags travel through the pipeline.
+     */
+    @Timeout(TaskRepository.LIST_READ_TIMEOUT_MILLIS)
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public UserStats aggregateUserStats(final String userUid)
+    {
+        var result = mongoClient.getDatabase(database).getCollection(TASKS_COLLECTION)
+                .aggregate(userStatsPipeline(userUid), Document.class)
+                .maxTime(TaskRepository.LIST_READ_MAX_TIME_MILLIS, TimeUnit.MILLISECONDS).first();
+
+        return toUserStats(result);
+    }
+
+    static List<Document> userStatsPipeline(final String userUid)
+    {
+        var match = new Document("$match", new Document("userUid", userUid).append("deletedAt", null));
+
+        var noteCount = List.of(match, new Document("$project", new Document("_id", 0).append("userUid", 1)),
+                new Document("$group", new Document("_id", null).append("notes", new Document("$sum", 1))));
+
+        return List.of(match,
+                new Document("$project", new Document("_id", 0).append("completed", 1).append("priority", 1)),
+                new Document("$group", new Document("_id", null).append("tasks", new Document("$sum", 1))
+                        .append("completedTasks", countIf("$completed"))
+                        .append("priorityTasks", countIf("$priority"))),
+                new Document("$unionWith", new Document("coll", NOTES_COLLECTION).append("pipeline", noteCount)),
+                // merges the task and the note row, a missing row or field sums to 0
+                new Document("$group", new Document("_id", null).append("tasks", new Document("$sum", "$tasks"))
+                        .append("completedTasks", new Document("$sum", "$completedTasks"))
+                        .append("priorityTasks", new Document("$sum", "$priorityTasks"))
+                        .append("notes", new Document("$sum", "$notes"))));
+    }
+
+    // no row at all when the user has neither tasks nor notes
+    static UserStats toUserStats(final Document result)
+    {
+        var stats = new UserStats();
+
+        if (result != null)
+        {
+            stats.setTasks(count(result, "tasks"));
+            stats.setCompletedTasks(count(result, "completedTasks"));
+            stats.setPriorityTasks(count(result, "priorityTasks"));
+            stats.setNotes(count(result, "notes"));
+            stats.setOpenTasks(stats.getTasks() - stats.getCompletedTasks());
+        }
+
+        return stats;
+    }
+
+    private static long count(final Document result, final String field)
+    {
+        var count = result.get(field, Number.class);
+        return count == null ? 0 : count.longValue();
+    }
+
+    private static Document countIf(final String field)
+    {
+        return new Document("$sum", new Document("$cond", List.of(field, 1, 0)));
+    }
+}
@@ -1,37 +1,290 @@
 package task.service.repos;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.WriteModel;
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.mongodb.panache.PanacheMongoRepository;
+import io.smallrye.faulttolerance.api.RetryWhen;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Retry;
+import org.eclipse.microprofile.faulttolerance.Timeout;
+import task.service.cache.ListRevision;
+import task.service.models.PageCursor;
 import task.service.models.Task;
+import task.service.models.TaskSummary;
+import task.service.resilience.TransientMongoError;
+import task.service.tracing.TracedLayer;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+// every query is timed per method, see LatencyHistograms
+// the server ends a read after a second unless the method allows longer, @Timeout only backs that up, writes time out
+// only once the driver gave up, reads are retried on failover errors, and the breaker of a method opens when half of
+// its last 20 calls failed for reasons other than bad input
+@Timed(value = "task.repository", extraTags = {"collection", "tasks"})
 @ApplicationScoped
+@TracedLayer("repository")
+@Timeout(TaskRepository.READ_TIMEOUT_MILLIS)
+@CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 5000, successThreshold = 2, skipOn = {
+        MongoWriteException.class, MongoBulkWriteException.class, IllegalArgumentException.class})
 public class TaskRepository implements PanacheMongoRepository<Task>
 {
+    // above max-wait-time, server-selection-timeout and read-timeout of the driver together, so a write is never
+    // abandoned while the driver may still send it; the write either completes or fails in the driver
+    public static final long WRITE_TIMEOUT_MILLIS = 15_000;
+
+    // reads carry a maxTime, so the server stops a slow query and the driver returns its error at once; @Timeout can
+    // only interrupt the calling thread, which does not end a blocking socket read on a platform thread
+    public static final long READ_MAX_TIME_MILLIS = 1000;
+    public static final long LIST_READ_MAX_TIME_MILLIS = 3000;
+
+    // the backstop above the server bound, leaving room for max-wait-time of the pool and the round trip
+    public static final long READ_TIMEOUT_MILLIS = READ_MAX_TIME_MILLIS + 1500;
+    public static final long LIST_READ_TIMEOUT_MILLIS = LIST_READ_MAX_TIME_MILLIS + 1500;
+
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private static final Document PAGE_SORT = new Document("createdAt", 1).append("uid", 1);
+
+    // the userUid_updatedAt index holds every field the revision needs
+    private static final Document REVISION_HINT = new Document("userUid", 1).append("updatedAt", 1);
+
+    // the fields of TaskSummary
+    private static final Bson SUMMARY_FIELDS = Projections.fields(
+            Projections.include("uid", "type", "title", "priority", "completed", "createdAt", "updatedAt",
+                    "completedAt"),
+            Projections.excludeId());
+
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
     public Task findById(final String id)
     {
-        return findById(new ObjectId(id));
+        return query(new Document("_id", new ObjectId(id)).append("deletedAt", null), READ_MAX_TIME_MILLIS).first();
     }
 
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
     public Task findByUid(final String uid)
     {
-        return find("uid", uid).firstResult();
+        return query(liveItem(uid), READ_MAX_TIME_MILLIS).first();
+    }
+
+    @Override
+    @Timeout(WRITE_TIMEOUT_MILLIS)
+    public void persist(final Task task)
+    {
+        PanacheMongoRepository.super.persist(task);
+    }
+
+    /**
+     * Applies an update pipeline to the item in a single round trip and returns it as stored afterwards, or null when
+     * no item has the uid. Soft deletes go through here as well.
+     */
+    @Timeout(WRITE_TIMEOUT_MILLIS)
+    public Task findAndUpdate(final String uid, final List<Document> pipeline)
+    {
+        return mongoCollection().findOneAndUpdate(liveItem(uid), pipeline,
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+    }
+
+    @Timeout(WRITE_TIMEOUT_MILLIS)
+    public BulkWriteResult bulkWrite(final List<WriteModel<Task>> models)
+    {
+        // unordered lets the server apply independent writes in parallel and continue past failing ones
+        return mongoCollection().bulkWrite(models, new BulkWriteOptions().ordered(false));
+    }
+
+    /**
+     * Revision of the user's items, their count and the sum of their updatedAt with soft deleted ones included.
+     * Computed from the keys of the userUid_updatedAt index, no document is fetched.
+     */
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public ListRevision findRevision(final String userUid)
+    {
+        var pipeline = List.of(new Document("$match", new Document("userUid", userUid)),
+                new Document("$group", new Document("_id", null).append("items", new Document("$sum", 1))
+                        .append("updatedAtSum", new Document("$sum", "$updatedAt"))));
+
+        var result = mongoCollection().aggregate(pipeline, Document.class).hint(REVISION_HINT)
+                .maxTime(READ_MAX_TIME_MILLIS, TimeUnit.MILLISECONDS).first();
+
+        if (result == null)
+        {
+            return new ListRevision(0, 0);
+        }
+
+        // items without updatedAt add nothing to the sum
+        return new ListRevision(result.get("items", Number.class).longValue(),
+                result.get("updatedAtSum", Number.class).longValue());
     }
 
+    /**
+     * Uids among the given ones of the user's live items. Tells which updates and deletes of a bulk write will match,
+     * served by the uid_unique index.
+     */
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public Set<String> findLiveUids(final String userUid, final List<String> uids)
+    {
+        var found = new HashSet<String>();
+        mongoCollection().find(new Document("uid", new Document("$in", uids)).append("userUid", userUid)
+                .append("deletedAt", null), Document.class).projection(Projections.include("uid"))
+                .maxTime(READ_MAX_TIME_MILLIS, TimeUnit.MILLISECONDS)
+                .forEach(item -> found.add(item.getString("uid")));
+        return found;
+    }
+
+    @Timeout(LIST_READ_TIMEOUT_MILLIS)
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
     public List<Task> findByUserUid(final String userUid)
     {
-        return list("userUid", userUid);
+        return query(liveItems(userUid), LIST_READ_MAX_TIME_MILLIS).into(new ArrayList<>());
+    }
+
+    /**
+     * Items of the user changed after the watermark, soft deleted ones included so deletions reach delta sync.
+     */
+    @Timeout(LIST_READ_TIMEOUT_MILLIS)
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public List<Task> findUpdatedSince(final String userUid, final long since)
+    {
+        return query(new Document("userUid", userUid).append("updatedAt", new Document("$gt", since)),
+                LIST_READ_MAX_TIME_MILLIS).sort(new Document("updatedAt", 1)).into(new ArrayList<>());
+    }
+
+    @Timeout(LIST_READ_TIMEOUT_MILLIS)
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public List<TaskSummary> findSummariesByUserUid(final String userUid)
+    {
+        return summaryQuery(liveItems(userUid), LIST_READ_MAX_TIME_MILLIS).into(new ArrayList<>());
+    }
+
+    /**
+     * Opens a driver cursor over all items of the user. Panache's query stream() materializes the whole list first, so
+     * the collection is queried directly to keep memory bounded by the batch size. The caller must close the cursor.
+     */
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public MongoCursor<Task> streamByUserUid(final String userUid)
+    {
+        return query(liveItems(userUid), LIST_READ_MAX_TIME_MILLIS).batchSize(STREAM_BATCH_SIZE).cursor();
     }
 
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public MongoCursor<TaskSummary> streamSummariesByUserUid(final String userUid)
+    {
+        return summaryQuery(liveItems(userUid), LIST_READ_MAX_TIME_MILLIS).batchSize(STREAM_BATCH_SIZE).cursor();
+    }
+
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public List<Task> findPageByUserUid(final String userUid, final PageCursor after, final int limit)
+    {
+        return query(pageQuery(userUid, after), READ_MAX_TIME_MILLIS).sort(PAGE_SORT).limit(limit)
+                .into(new ArrayList<>());
+    }
+
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public List<TaskSummary> findSummaryPageByUserUid(final String userUid, final PageCursor after, final int limit)
+    {
+        return summaryQuery(pageQuery(userUid, after), READ_MAX_TIME_MILLIS).sort(PAGE_SORT).limit(limit)
+                .into(new ArrayList<>());
+    }
+
+    @Timeout(LIST_READ_TIMEOUT_MILLIS)
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
     public List<Task> findCompletedByUserUid(final String userUid)
     {
-        return list("userUid = ?1 and completed = ?2", userUid, true);
+        return query(liveItems(userUid).append("completed", true), LIST_READ_MAX_TIME_MILLIS).into(new ArrayList<>());
     }
 
+    @Timeout(LIST_READ_TIMEOUT_MILLIS)
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public List<TaskSummary> findCompletedSummariesByUserUid(final String userUid)
+    {
+        return summaryQuery(liveItems(userUid).append("completed", true), LIST_READ_MAX_TIME_MILLIS)
+                .into(new ArrayList<>());
+    }
+
+    @Timeout(LIST_READ_TIMEOUT_MILLIS)
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
     public List<Task> findPriorityByUserUid(final String userUid)
     {
-        return list("userUid = ?1 and priority = ?2", userUid, true);
+        return query(liveItems(userUid).append("priority", true), LIST_READ_MAX_TIME_MILLIS).into(new ArrayList<>());
+    }
+
+    @Timeout(LIST_READ_TIMEOUT_MILLIS)
+    @Retry(maxRetries = 2, delay = 100, jitter = 50)
+    @RetryWhen(exception = TransientMongoError.class)
+    public List<TaskSummary> findPrioritySummariesByUserUid(final String userUid)
+    {
+        return summaryQuery(liveItems(userUid).append("priority", true), LIST_READ_MAX_TIME_MILLIS)
+                .into(new ArrayList<>());
+    }
+
+    private FindIterable<Task> query(final Bson filter, final long maxTimeMillis)
+    {
+        return mongoCollection().find(filter).maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private FindIterable<TaskSummary> summaryQuery(final Bson filter, final long maxTimeMillis)
+    {
+        return mongoCollection().withDocumentClass(TaskSummary.class).find(filter).projection(SUMMARY_FIELDS)
+                .maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static Document pageQuery(final String userUid, final PageCursor after)
+    {
+        var query = liveItems(userUid);
+
+        if (after != null)
+        {
+            // keyset condition: everything strictly after (createdAt, uid) of the last item on the previous page; a
+            // missing createdAt sorts before every number, so after such an item come the rest of them and all others
+            var later = after.getCreatedAt() == null
+                    ? new Document("createdAt", new Document("$gt", Long.MIN_VALUE))
+                    : new Document("createdAt", new Document("$gt", after.getCreatedAt()));
+
+            query.append("$or", List.of(later,
+                    new Document("createdAt", after.getCreatedAt()).append("uid", new Document("$gt", after.getUid()))));
+        }
+
+        return query;
+    }
+
+    // a null match also covers items stored before soft delete existed, which have no deletedAt at all
+    private static Document liveItem(final String uid)
+    {
+        return new Document("uid", uid).append("deletedAt", null);
+    }
+
+    private static Document liveItems(final String userUid)
+    {
+        return new Document("userUid", userUid).append("deletedAt", null);
     }
 }
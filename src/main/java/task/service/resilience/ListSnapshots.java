@@ -0,0 +1,70 @@
+package task.service.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import task.service.cache.ListKind;
+import task.service.cache.RevisionedList;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Last good result of each full list read, kept apart from the {@link task.service.cache.UserListCache} because writes
+ * do not invalidate it: it is only read while the database is unreachable, and then an old list beats an error.
+ * Bounded by the total number of items and by age, so a snapshot is never older than max-age.
+ */
+@ApplicationScoped
+public class ListSnapshots
+{
+    @ConfigProperty(name = "task-service.fault-tolerance.stale-reads.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "task-service.fault-tolerance.stale-reads.max-items", defaultValue = "200000")
+    long maxItems;
+
+    @ConfigProperty(name = "task-service.fault-tolerance.stale-reads.max-age", defaultValue = "10m")
+    Duration maxAge;
+
+    private Cache<SnapshotKey, Object> snapshots;
+
+    @PostConstruct
+    void init()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        snapshots = Caffeine.newBuilder().maximumWeight(maxItems)
+                .weigher((SnapshotKey key, Object value) -> sizeOf(value) + 1).expireAfterWrite(maxAge).build();
+    }
+
+    /**
+     * Remembers the result of a list read, either the {@link List} itself or the {@link RevisionedList} holding it.
+     */
+    public void remember(final String userUid, final ListKind kind, final Object result)
+    {
+        if (snapshots != null)
+        {
+            var snapshot = result instanceof List<?> items ? List.copyOf(items) : result;
+            snapshots.put(new SnapshotKey(userUid, kind), snapshot);
+        }
+    }
+
+    public Object lookup(final String userUid, final ListKind kind)
+    {
+        return snapshots == null ? null : snapshots.getIfPresent(new SnapshotKey(userUid, kind));
+    }
+
+    private static int sizeOf(final Object result)
+    {
+        return result instanceof RevisionedList<?> list ? list.items().size() : ((List<?>) result).size();
+    }
+
+    private record SnapshotKey(String userUid, ListKind kind)
+    {
+    }
+}
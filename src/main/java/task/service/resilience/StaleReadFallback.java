@@ -0,0 +1,25 @@
+package task.service.resilience;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+import task.service.cache.ListKind;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Answers a full list read from the last good result while the circuit breaker of the repository is open, see
+ * {@link StaleReadFallbackInterceptor}. The method names its user parameter userUid.
+ */
+@Inherited
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface StaleReadFallback
+{
+    @Nonbinding
+    ListKind value();
+}
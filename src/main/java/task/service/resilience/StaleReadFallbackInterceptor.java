@@ -0,0 +1,57 @@
+package task.service.resilience;
+
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.service.cache.ListKind;
+import task.service.utils.InvocationUtils;
+
+/**
+ * Records every successful full list read in {@link ListSnapshots} and serves the snapshot instead of failing while
+ * the circuit breaker of the repository is open, and only then: timeouts and other errors of a closed breaker still
+ * reach the caller. Binds to the service methods above the {@link task.service.cache.UserListCache}, so a snapshot it
+ * serves is never cached as a fresh load.
+ */
+@StaleReadFallback(ListKind.ALL_TASKS)
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 10)
+public class StaleReadFallbackInterceptor
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(StaleReadFallbackInterceptor.class);
+
+    @Inject
+    ListSnapshots snapshots;
+
+    @AroundInvoke
+    Object fallback(final InvocationContext context) throws Exception
+    {
+        var kind = context.getMethod().getAnnotation(StaleReadFallback.class).value();
+        var userUid = InvocationUtils.userUidOf(context.getMethod(), context.getParameters());
+
+        try
+        {
+            var result = context.proceed();
+            snapshots.remember(userUid, kind, result);
+            return result;
+
+        } catch (final CircuitBreakerOpenException e)
+        {
+            var snapshot = snapshots.lookup(userUid, kind);
+
+            if (snapshot == null)
+            {
+                throw e;
+            }
+
+            LOGGER.debug("Circuit open, serving snapshot of {} for {}", kind, userUid);
+            Metrics.counter("task.fault_tolerance.stale_reads", "kind", kind.name().toLowerCase()).increment();
+            return snapshot;
+        }
+    }
+}
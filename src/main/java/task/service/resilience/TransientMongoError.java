@@ -0,0 +1,22 @@
+package task.service.resilience;
+
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoSocketReadTimeoutException;
+
+import java.util.function.Predicate;
+
+/**
+ * Errors a read can be retried on: connections dropped and primaries stepping down during a failover. Timeouts are
+ * left out, retrying a query against a server that is already slow only adds to its load.
+ */
+public final class TransientMongoError implements Predicate<Throwable>
+{
+    @Override
+    public boolean test(final Throwable error)
+    {
+        return error instanceof MongoSocketException && !(error instanceof MongoSocketReadTimeoutException)
+                || error instanceof MongoNotPrimaryException || error instanceof MongoNodeIsRecoveringException;
+    }
+}
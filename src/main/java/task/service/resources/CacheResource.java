@@ -0,0 +1,35 @@
+package task.service.resources;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import task.service.cache.UserListCache;
+import task.service.utils.ResponseUtils;
+
+import java.util.Map;
+
+@Path("/cache")
+public class CacheResource
+{
+    @Inject
+    UserListCache listCache;
+
+    @GET
+    @Path("/stats")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get hit, miss and eviction statistics of the list cache")
+    public Response stats()
+    {
+        var stats = listCache.stats();
+
+        return ResponseUtils.successResponse(Response.Status.OK,
+                Map.of("enabled", listCache.isEnabled(), "size", listCache.size(), "hitCount", stats.hitCount(),
+                        "missCount", stats.missCount(), "hitRate", stats.hitRate(), "evictionCount",
+                        stats.evictionCount(), "evictionWeight", stats.evictionWeight(), "loadFailureCount",
+                        stats.loadFailureCount()));
+    }
+}
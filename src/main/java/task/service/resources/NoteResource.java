@@ -1,17 +1,37 @@
 package task.service.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import task.service.admission.AdmissionGroup;
+import task.service.admission.Admitted;
+import task.service.cache.ListRevision;
+import task.service.models.ListView;
+import task.service.models.Note;
+import task.service.models.NoteSummary;
+import task.service.models.payloads.BatchOperation;
 import task.service.models.payloads.NotePayload;
 import task.service.services.NoteService;
+import task.service.tracing.TracedLayer;
+import task.service.utils.ConditionalUtils;
+import task.service.utils.NdjsonUtils;
 import task.service.utils.ResponseUtils;
 
+import java.util.List;
+
+// runs on virtual threads, or on the worker pool when quarkus.virtual-threads.enabled is false
 @Path("/note")
+@RunOnVirtualThread
+@TracedLayer("resource")
 public class NoteResource
 {
     private final static Logger LOGGER = LoggerFactory.getLogger(NoteResource.class);
@@ -19,12 +39,27 @@ public class NoteResource
     @Inject
     NoteService noteService;
 
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "task-service.pagination.default-limit", defaultValue = "100")
+    int defaultLimit;
+
+    @ConfigProperty(name = "task-service.pagination.max-limit", defaultValue = "500")
+    int maxLimit;
+
+    @ConfigProperty(name = "task-service.batch.max-operations", defaultValue = "1000")
+    int maxBatchOperations;
+
     @GET
     @Path("/all/{userUid}")
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
-    @Operation(summary = "Get all notes by specified user")
-    public Response allNotesByUser(@PathParam("userUid") final String userUid)
+    @Operation(summary = "Get all notes by specified user, paged when limit or after is given")
+    @Admitted(AdmissionGroup.READ)
+    public Response allNotesByUser(@PathParam("userUid") final String userUid,
+            @QueryParam("limit") final Integer limit, @QueryParam("after") final String after,
+            @QueryParam("view") final String view, @Context final Request request)
     {
         LOGGER.debug("Get request for all notes received");
 
@@ -33,10 +68,116 @@ public class NoteResource
             return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "User uid is required");
         }
 
+        var listView = ListView.parse(view);
+
+        if (listView == null)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Invalid view, must be full or summary");
+        }
+
+        ListRevision revision;
+
         try
         {
-            var notes = noteService.getAllNotes(userUid);
-            return ResponseUtils.successResponse(Response.Status.OK, notes);
+            // read before the items, so a concurrent write can only leave the tag behind the data
+            revision = noteService.getNotesRevision(userUid);
+
+        } catch (final Exception e)
+        {
+            // the list reads have their own timeouts and stale read fallback, they are answered without a tag
+            LOGGER.debug("Could not fetch notes revision");
+            return limit != null || after != null
+                    ? pagedNotes(userUid, limit, after, listView)
+                    : allNotes(userUid, listView, ListRevision.UNKNOWN);
+        }
+
+        var etag = ConditionalUtils.listTag(revision, listView.name(), limit, after);
+        var notModified = ConditionalUtils.notModified(request, etag);
+
+        if (notModified != null)
+        {
+            LOGGER.debug("Notes not modified");
+            return notModified;
+        }
+
+        if (limit != null || after != null)
+        {
+            return ConditionalUtils.tagged(pagedNotes(userUid, limit, after, listView), etag);
+        }
+
+        return allNotes(userUid, listView, revision);
+    }
+
+    @GET
+    @Path("/all/{userUid}/stream")
+    @Produces(NdjsonUtils.APPLICATION_NDJSON)
+    @Operation(summary = "Stream all notes by specified user as newline delimited JSON")
+    @Admitted(AdmissionGroup.READ)
+    public Response streamNotesByUser(@PathParam("userUid") final String userUid,
+            @QueryParam("view") final String view)
+    {
+        LOGGER.debug("Stream request for all notes received");
+
+        if (userUid == null)
+        {
+            return NdjsonUtils.errorResponse(Response.Status.BAD_REQUEST, "User uid is required");
+        }
+
+        var listView = ListView.parse(view);
+
+        if (listView == null)
+        {
+            return NdjsonUtils.errorResponse(Response.Status.BAD_REQUEST, "Invalid view, must be full or summary");
+        }
+
+        try
+        {
+            // opening the cursor here so a failing query still produces an error envelope
+            if (listView == ListView.SUMMARY)
+            {
+                var cursor = noteService.streamNoteSummaries(userUid);
+                return NdjsonUtils.streamResponse(cursor, objectMapper.writerFor(NoteSummary.class));
+            }
+
+            var cursor = noteService.streamAllNotes(userUid);
+            return NdjsonUtils.streamResponse(cursor, objectMapper.writerFor(Note.class));
+
+        } catch (final Exception e)
+        {
+            return NdjsonUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch notes");
+        }
+    }
+
+    @GET
+    @Path("/since/{userUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get notes changed and deleted since the watermark of the previous call")
+    @Admitted(AdmissionGroup.READ)
+    public Response notesSince(@PathParam("userUid") final String userUid, @QueryParam("since") final Long since)
+    {
+        LOGGER.debug("Get request for changed notes received");
+
+        if (userUid == null)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "User uid is required");
+        }
+
+        if (since == null || since < 0)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                    "Since is required, use 0 or the watermark of the previous call");
+        }
+
+        try
+        {
+            var delta = noteService.getNotesSince(userUid, since);
+            return ResponseUtils.successResponse(Response.Status.OK, delta);
+
+        } catch (final ClientErrorException e)
+        {
+            return ResponseUtils.errorResponse(Response.Status.GONE,
+                    "Watermark is older than the delete retention, sync again from 0");
         } catch (final Exception e)
         {
             return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch notes");
@@ -48,6 +189,7 @@ public class NoteResource
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
     @Operation(summary = "Create note for specified user")
+    @Admitted(AdmissionGroup.WRITE)
     public Response create(@PathParam("userUid") final String userUid, final NotePayload payload)
     {
         LOGGER.debug("Create request received for note item");
@@ -75,11 +217,45 @@ public class NoteResource
         }
     }
 
+    @POST
+    @Path("/batch/{userUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Create, update and delete notes of specified user in one request")
+    @Admitted(AdmissionGroup.WRITE)
+    public Response batch(@PathParam("userUid") final String userUid,
+            final List<BatchOperation<NotePayload>> operations)
+    {
+        LOGGER.debug("Batch request received for note items");
+
+        if (userUid == null)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "User uid is required");
+        }
+
+        if (operations == null || operations.isEmpty() || operations.size() > maxBatchOperations)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                    "Invalid payload, must send between 1 and " + maxBatchOperations + " operations");
+        }
+
+        try
+        {
+            var result = noteService.applyNoteBatch(userUid, operations);
+            return ResponseUtils.successResponse(Response.Status.OK, result);
+
+        } catch (final Exception e)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not apply batch");
+        }
+    }
+
     @PUT
     @Path("/update/{itemUid}")
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
     @Operation(summary = "Update specified note")
+    @Admitted(AdmissionGroup.WRITE)
     public Response update(@PathParam("itemUid") final String itemUid, final NotePayload payload)
     {
         LOGGER.debug("Update request received for note item");
@@ -112,6 +288,7 @@ public class NoteResource
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
     @Operation(summary = "Delete specified task")
+    @Admitted(AdmissionGroup.WRITE)
     public Response delete(@PathParam("itemUid") final String itemUid)
     {
         LOGGER.debug("Delete request received for note item");
@@ -131,4 +308,57 @@ public class NoteResource
             return ResponseUtils.errorResponse(Response.Status.NOT_FOUND, "Item could not be deleted");
         }
     }
+
+    private Response allNotes(final String userUid, final ListView listView, final ListRevision revision)
+    {
+        try
+        {
+            var notes = listView == ListView.SUMMARY
+                    ? noteService.getNoteSummaries(userUid, revision)
+                    : noteService.getAllNotes(userUid, revision);
+
+            var response = ResponseUtils.successResponse(Response.Status.OK, notes.items());
+
+            if (notes.revision().equals(ListRevision.UNKNOWN))
+            {
+                return response;
+            }
+
+            // tagged with the revision the list was loaded at, a list cached on this replica before a write of
+            // another one is reloaded instead of being served under the newer tag
+            var etag = ConditionalUtils.listTag(notes.revision(), listView.name(), null, null);
+            return ConditionalUtils.tagged(response, etag);
+
+        } catch (final Exception e)
+        {
+            LOGGER.debug("Could not fetch notes");
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch notes");
+        }
+    }
+
+    private Response pagedNotes(final String userUid, final Integer limit, final String after,
+            final ListView listView)
+    {
+        if (limit != null && limit < 1)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Limit must be a positive number");
+        }
+
+        var pageSize = limit == null ? defaultLimit : Math.min(limit, maxLimit);
+
+        try
+        {
+            var page = listView == ListView.SUMMARY
+                    ? noteService.getNoteSummariesPage(userUid, after, pageSize)
+                    : noteService.getNotesPage(userUid, after, pageSize);
+            return ResponseUtils.pagedResponse(Response.Status.OK, page.getItems(), page.getNextCursor());
+
+        } catch (final IllegalArgumentException e)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Invalid cursor");
+        } catch (final Exception e)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch notes");
+        }
+    }
 }
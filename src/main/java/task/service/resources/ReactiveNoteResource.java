@@ -0,0 +1,116 @@
+package task.service.resources;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.service.models.Note;
+import task.service.models.payloads.NotePayload;
+import task.service.services.ReactiveNoteService;
+import task.service.utils.NdjsonUtils;
+import task.service.utils.ResponseUtils;
+
+/**
+ * Event loop variant of {@link NoteResource}, only built when task-service.reactive.enabled is true. Like
+ * {@link ReactiveTaskResource} it is neither admitted nor traced per layer.
+ */
+@Path("/reactive/note")
+@IfBuildProperty(name = "task-service.reactive.enabled", stringValue = "true")
+public class ReactiveNoteResource
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(ReactiveNoteResource.class);
+
+    @Inject
+    ReactiveNoteService noteService;
+
+    @GET
+    @Path("/all/{userUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get all notes by specified user")
+    public Uni<Response> allNotesByUser(@PathParam("userUid") final String userUid)
+    {
+        LOGGER.debug("Get request for all notes received");
+
+        return noteService.getAllNotes(userUid).map(notes -> ResponseUtils.successResponse(Response.Status.OK, notes))
+                .onFailure().recoverWithItem(
+                        e -> ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch notes"));
+    }
+
+    @GET
+    @Path("/all/{userUid}/stream")
+    @Produces(NdjsonUtils.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Stream all notes by specified user as newline delimited JSON")
+    public Multi<Note> streamNotesByUser(@PathParam("userUid") final String userUid)
+    {
+        LOGGER.debug("Stream request for all notes received");
+        return noteService.streamAllNotes(userUid);
+    }
+
+    @POST
+    @Path("/create/{userUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Create note for specified user")
+    public Uni<Response> create(@PathParam("userUid") final String userUid, final NotePayload payload)
+    {
+        LOGGER.debug("Create request received for note item");
+
+        if (!payload.isValidForCreate())
+        {
+            LOGGER.debug("Payload is invalid, cannot create note");
+            return Uni.createFrom().item(ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                    "Invalid payload, must send all fields to create"));
+        }
+
+        return noteService.createNote(userUid, payload)
+                .map(note -> ResponseUtils.successResponse(Response.Status.CREATED, note)).onFailure()
+                .recoverWithItem(e -> ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                        "Could not create note"));
+    }
+
+    @PUT
+    @Path("/update/{itemUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Update specified note")
+    public Uni<Response> update(@PathParam("itemUid") final String itemUid, final NotePayload payload)
+    {
+        LOGGER.debug("Update request received for note item");
+
+        if (!payload.isValidForUpdate())
+        {
+            LOGGER.debug("Payload is invalid, cannot update note");
+            return Uni.createFrom().item(ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                    "Invalid payload, must send minimum of one field to update"));
+        }
+
+        return noteService.updateNote(payload, itemUid)
+                .map(note -> ResponseUtils.successResponse(Response.Status.OK, note)).onFailure()
+                .recoverWithItem(e -> ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                        "Could not update note"));
+    }
+
+    @DELETE
+    @Path("/delete/{itemUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Delete specified note")
+    public Uni<Response> delete(@PathParam("itemUid") final String itemUid)
+    {
+        LOGGER.debug("Delete request received for note item");
+
+        return noteService.deleteNote(itemUid)
+                .map(ignored -> ResponseUtils.successResponse(Response.Status.OK, "Note deleted successfully"))
+                .onFailure().recoverWithItem(
+                        e -> ResponseUtils.errorResponse(Response.Status.NOT_FOUND, "Item could not be deleted"));
+    }
+}
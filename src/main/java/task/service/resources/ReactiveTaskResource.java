@@ -0,0 +1,146 @@
+package task.service.resources;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.service.models.Task;
+import task.service.models.payloads.TaskPayload;
+import task.service.services.ReactiveTaskService;
+import task.service.utils.NdjsonUtils;
+import task.service.utils.ResponseUtils;
+
+/**
+ * Event loop variant of {@link TaskResource}, only built when task-service.reactive.enabled is true. It is neither
+ * admitted nor traced per layer: both interceptors act around the method call, which here only assembles the Uni, so
+ * admission would release its permits and the span would end before the database is asked, and waiting for a permit
+ * would block the event loop. The HTTP span of the request still covers the whole call.
+ */
+@Path("/reactive/task")
+@IfBuildProperty(name = "task-service.reactive.enabled", stringValue = "true")
+public class ReactiveTaskResource
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(ReactiveTaskResource.class);
+
+    @Inject
+    ReactiveTaskService taskService;
+
+    @GET
+    @Path("/all/{userUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get all tasks by specified user")
+    public Uni<Response> allTasksByUser(@PathParam("userUid") final String userUid)
+    {
+        LOGGER.debug("Get request for all tasks received");
+
+        return taskService.getAllTasks(userUid).map(tasks -> ResponseUtils.successResponse(Response.Status.OK, tasks))
+                .onFailure().recoverWithItem(
+                        e -> ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch tasks"));
+    }
+
+    @GET
+    @Path("/all/{userUid}/stream")
+    @Produces(NdjsonUtils.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Stream all tasks by specified user as newline delimited JSON")
+    public Multi<Task> streamTasksByUser(@PathParam("userUid") final String userUid)
+    {
+        LOGGER.debug("Stream request for all tasks received");
+        return taskService.streamAllTasks(userUid);
+    }
+
+    @GET
+    @Path("/completed/{userUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get all completed tasks")
+    public Uni<Response> completedTasksByUser(@PathParam("userUid") final String userUid)
+    {
+        LOGGER.debug("Get request for all completed tasks received");
+
+        return taskService.getCompletedTasks(userUid)
+                .map(tasks -> ResponseUtils.successResponse(Response.Status.OK, tasks)).onFailure().recoverWithItem(
+                        e -> ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch tasks"));
+    }
+
+    @GET
+    @Path("/priority/{userUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get all prioritized tasks")
+    public Uni<Response> priorityTasksByUser(@PathParam("userUid") final String userUid)
+    {
+        LOGGER.debug("Get request for all priority tasks received");
+
+        return taskService.getPriorityTasks(userUid)
+                .map(tasks -> ResponseUtils.successResponse(Response.Status.OK, tasks)).onFailure().recoverWithItem(
+                        e -> ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch tasks"));
+    }
+
+    @POST
+    @Path("/create/{userUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Create a new task for user")
+    public Uni<Response> create(@PathParam("userUid") final String userUid, final TaskPayload payload)
+    {
+        LOGGER.debug("Create request received for task item");
+
+        if (!payload.isValidForCreate())
+        {
+            LOGGER.debug("Payload is invalid, cannot create task");
+            return Uni.createFrom().item(ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                    "Invalid payload, must send all fields to create"));
+        }
+
+        return taskService.createTask(userUid, payload)
+                .map(task -> ResponseUtils.successResponse(Response.Status.CREATED, task)).onFailure()
+                .recoverWithItem(e -> ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                        "Could not create task"));
+    }
+
+    @PUT
+    @Path("/update/{itemUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Update specified task")
+    public Uni<Response> update(@PathParam("itemUid") final String itemUid, final TaskPayload payload)
+    {
+        LOGGER.debug("Update request received for task item");
+
+        if (!payload.isValidForUpdate())
+        {
+            LOGGER.debug("Payload is invalid, cannot update task");
+            return Uni.createFrom().item(ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                    "Invalid payload, must send minimum of one field to update"));
+        }
+
+        return taskService.updateTask(payload, itemUid)
+                .map(task -> ResponseUtils.successResponse(Response.Status.OK, task)).onFailure()
+                .recoverWithItem(e -> ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                        "Could not update task"));
+    }
+
+    @DELETE
+    @Path("/delete/{itemUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Delete specified task")
+    public Uni<Response> delete(@PathParam("itemUid") final String itemUid)
+    {
+        LOGGER.debug("Delete request received for task item");
+
+        return taskService.deleteTask(itemUid)
+                .map(ignored -> ResponseUtils.successResponse(Response.Status.OK, "Task deleted successfully"))
+                .onFailure().recoverWithItem(
+                        e -> ResponseUtils.errorResponse(Response.Status.NOT_FOUND, "Item could not be deleted"));
+    }
+}
@@ -0,0 +1,54 @@
+package task.service.resources;
+
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.service.admission.AdmissionGroup;
+import task.service.admission.Admitted;
+import task.service.services.StatsService;
+import task.service.tracing.TracedLayer;
+import task.service.utils.ResponseUtils;
+
+@Path("/stats")
+@RunOnVirtualThread
+@TracedLayer("resource")
+public class StatsResource
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(StatsResource.class);
+
+    @Inject
+    StatsService statsService;
+
+    @GET
+    @Path("/{userUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get task and note counts of specified user")
+    @Admitted(AdmissionGroup.READ)
+    public Response statsByUser(@PathParam("userUid") final String userUid)
+    {
+        LOGGER.debug("Get request for user stats received");
+
+        if (userUid == null)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "User uid is required");
+        }
+
+        try
+        {
+            var stats = statsService.getUserStats(userUid);
+            return ResponseUtils.successResponse(Response.Status.OK, stats);
+
+        } catch (final Exception e)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch stats");
+        }
+    }
+}
@@ -1,17 +1,37 @@
 package task.service.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import task.service.admission.AdmissionGroup;
+import task.service.admission.Admitted;
+import task.service.cache.ListRevision;
+import task.service.models.ListView;
+import task.service.models.Task;
+import task.service.models.TaskSummary;
+import task.service.models.payloads.BatchOperation;
 import task.service.models.payloads.TaskPayload;
 import task.service.services.TaskService;
+import task.service.tracing.TracedLayer;
+import task.service.utils.ConditionalUtils;
+import task.service.utils.NdjsonUtils;
 import task.service.utils.ResponseUtils;
 
+import java.util.List;
+
+// runs on virtual threads, or on the worker pool when quarkus.virtual-threads.enabled is false
 @Path("/task")
+@RunOnVirtualThread
+@TracedLayer("resource")
 public class TaskResource
 {
     private final static Logger LOGGER = LoggerFactory.getLogger(TaskResource.class);
@@ -19,12 +39,27 @@ public class TaskResource
     @Inject
     TaskService taskService;
 
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "task-service.pagination.default-limit", defaultValue = "100")
+    int defaultLimit;
+
+    @ConfigProperty(name = "task-service.pagination.max-limit", defaultValue = "500")
+    int maxLimit;
+
+    @ConfigProperty(name = "task-service.batch.max-operations", defaultValue = "1000")
+    int maxBatchOperations;
+
     @GET
     @Path("/all/{userUid}")
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
-    @Operation(summary = "Get all tasks by specified user")
-    public Response allTasksByUser(@PathParam("userUid") final String userUid)
+    @Operation(summary = "Get all tasks by specified user, paged when limit or after is given")
+    @Admitted(AdmissionGroup.READ)
+    public Response allTasksByUser(@PathParam("userUid") final String userUid,
+            @QueryParam("limit") final Integer limit, @QueryParam("after") final String after,
+            @QueryParam("view") final String view, @Context final Request request)
     {
         LOGGER.debug("Get request for all tasks received");
 
@@ -33,14 +68,118 @@ public class TaskResource
             return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "User uid is required");
         }
 
+        var listView = ListView.parse(view);
+
+        if (listView == null)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Invalid view, must be full or summary");
+        }
+
+        ListRevision revision;
+
         try
         {
-            var tasks = taskService.getAllTasks(userUid);
-            return ResponseUtils.successResponse(Response.Status.OK, tasks);
+            // read before the items, so a concurrent write can only leave the tag behind the data
+            revision = taskService.getTasksRevision(userUid);
 
         } catch (final Exception e)
         {
-            LOGGER.debug("Could not fetch tasks");
+            // the list reads have their own timeouts and stale read fallback, they are answered without a tag
+            LOGGER.debug("Could not fetch tasks revision");
+            return limit != null || after != null
+                    ? pagedTasks(userUid, limit, after, listView)
+                    : allTasks(userUid, listView, ListRevision.UNKNOWN);
+        }
+
+        var etag = ConditionalUtils.listTag(revision, listView.name(), limit, after);
+        var notModified = ConditionalUtils.notModified(request, etag);
+
+        if (notModified != null)
+        {
+            LOGGER.debug("Tasks not modified");
+            return notModified;
+        }
+
+        if (limit != null || after != null)
+        {
+            return ConditionalUtils.tagged(pagedTasks(userUid, limit, after, listView), etag);
+        }
+
+        return allTasks(userUid, listView, revision);
+    }
+
+    @GET
+    @Path("/all/{userUid}/stream")
+    @Produces(NdjsonUtils.APPLICATION_NDJSON)
+    @Operation(summary = "Stream all tasks by specified user as newline delimited JSON")
+    @Admitted(AdmissionGroup.READ)
+    public Response streamTasksByUser(@PathParam("userUid") final String userUid,
+            @QueryParam("view") final String view)
+    {
+        LOGGER.debug("Stream request for all tasks received");
+
+        if (userUid == null)
+        {
+            return NdjsonUtils.errorResponse(Response.Status.BAD_REQUEST, "User uid is required");
+        }
+
+        var listView = ListView.parse(view);
+
+        if (listView == null)
+        {
+            return NdjsonUtils.errorResponse(Response.Status.BAD_REQUEST, "Invalid view, must be full or summary");
+        }
+
+        try
+        {
+            // opening the cursor here so a failing query still produces an error envelope
+            if (listView == ListView.SUMMARY)
+            {
+                var cursor = taskService.streamTaskSummaries(userUid);
+                return NdjsonUtils.streamResponse(cursor, objectMapper.writerFor(TaskSummary.class));
+            }
+
+            var cursor = taskService.streamAllTasks(userUid);
+            return NdjsonUtils.streamResponse(cursor, objectMapper.writerFor(Task.class));
+
+        } catch (final Exception e)
+        {
+            return NdjsonUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch tasks");
+        }
+    }
+
+    @GET
+    @Path("/since/{userUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get tasks changed and deleted since the watermark of the previous call")
+    @Admitted(AdmissionGroup.READ)
+    public Response tasksSince(@PathParam("userUid") final String userUid, @QueryParam("since") final Long since)
+    {
+        LOGGER.debug("Get request for changed tasks received");
+
+        if (userUid == null)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "User uid is required");
+        }
+
+        if (since == null || since < 0)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                    "Since is required, use 0 or the watermark of the previous call");
+        }
+
+        try
+        {
+            var delta = taskService.getTasksSince(userUid, since);
+            return ResponseUtils.successResponse(Response.Status.OK, delta);
+
+        } catch (final ClientErrorException e)
+        {
+            return ResponseUtils.errorResponse(Response.Status.GONE,
+                    "Watermark is older than the delete retention, sync again from 0");
+        } catch (final Exception e)
+        {
             return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch tasks");
         }
     }
@@ -50,7 +189,9 @@ public class TaskResource
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
     @Operation(summary = "Get all completed tasks")
-    public Response completedTasksByUser(@PathParam("userUid") final String userUid)
+    @Admitted(AdmissionGroup.READ)
+    public Response completedTasksByUser(@PathParam("userUid") final String userUid,
+            @QueryParam("view") final String view)
     {
         LOGGER.debug("Get request for all completed tasks received");
 
@@ -59,9 +200,18 @@ public class TaskResource
             return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "User uid is required");
         }
 
+        var listView = ListView.parse(view);
+
+        if (listView == null)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Invalid view, must be full or summary");
+        }
+
         try
         {
-            var tasks = taskService.getCompletedTasks(userUid);
+            var tasks = listView == ListView.SUMMARY
+                    ? taskService.getCompletedTaskSummaries(userUid)
+                    : taskService.getCompletedTasks(userUid);
             return ResponseUtils.successResponse(Response.Status.OK, tasks);
         } catch (final Exception e)
         {
@@ -74,7 +224,9 @@ public class TaskResource
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
     @Operation(summary = "Get all prioritized tasks")
-    public Response priorityTasksByUser(@PathParam("userUid") final String userUid)
+    @Admitted(AdmissionGroup.READ)
+    public Response priorityTasksByUser(@PathParam("userUid") final String userUid,
+            @QueryParam("view") final String view)
     {
         LOGGER.debug("Get request for all priority tasks received");
 
@@ -83,9 +235,18 @@ public class TaskResource
             return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "User uid is required");
         }
 
+        var listView = ListView.parse(view);
+
+        if (listView == null)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Invalid view, must be full or summary");
+        }
+
         try
         {
-            var tasks = taskService.getPriorityTasks(userUid);
+            var tasks = listView == ListView.SUMMARY
+                    ? taskService.getPriorityTaskSummaries(userUid)
+                    : taskService.getPriorityTasks(userUid);
             return ResponseUtils.successResponse(Response.Status.OK, tasks);
 
         } catch (final Exception e)
@@ -93,11 +254,13 @@ public class TaskResource
             return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch tasks");
         }
     }
+
     @POST
     @Path("/create/{userUid}")
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
     @Operation(summary = "Create a new task for user")
+    @Admitted(AdmissionGroup.WRITE)
     public Response create(@PathParam("userUid") final String userUid, final TaskPayload payload)
     {
         LOGGER.debug("Create request received for task item");
@@ -125,11 +288,45 @@ public class TaskResource
         }
     }
 
+    @POST
+    @Path("/batch/{userUid}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Create, update and delete tasks of specified user in one request")
+    @Admitted(AdmissionGroup.WRITE)
+    public Response batch(@PathParam("userUid") final String userUid,
+            final List<BatchOperation<TaskPayload>> operations)
+    {
+        LOGGER.debug("Batch request received for task items");
+
+        if (userUid == null)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "User uid is required");
+        }
+
+        if (operations == null || operations.isEmpty() || operations.size() > maxBatchOperations)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST,
+                    "Invalid payload, must send between 1 and " + maxBatchOperations + " operations");
+        }
+
+        try
+        {
+            var result = taskService.applyTaskBatch(userUid, operations);
+            return ResponseUtils.successResponse(Response.Status.OK, result);
+
+        } catch (final Exception e)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not apply batch");
+        }
+    }
+
     @PUT
     @Path("/update/{itemUid}")
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
     @Operation(summary = "Update specified task")
+    @Admitted(AdmissionGroup.WRITE)
     public Response update(@PathParam("itemUid") final String itemUid, final TaskPayload payload)
     {
         LOGGER.debug("Update request received for task item");
@@ -162,6 +359,7 @@ public class TaskResource
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
     @Operation(summary = "Delete specified task")
+    @Admitted(AdmissionGroup.WRITE)
     public Response delete(@PathParam("itemUid") final String itemUid)
     {
         LOGGER.debug("Delete request received for task item");
@@ -180,4 +378,57 @@ public class TaskResource
             return ResponseUtils.errorResponse(Response.Status.NOT_FOUND, "Item could not be deleted");
         }
     }
+
+    private Response allTasks(final String userUid, final ListView listView, final ListRevision revision)
+    {
+        try
+        {
+            var tasks = listView == ListView.SUMMARY
+                    ? taskService.getTaskSummaries(userUid, revision)
+                    : taskService.getAllTasks(userUid, revision);
+
+            var response = ResponseUtils.successResponse(Response.Status.OK, tasks.items());
+
+            if (tasks.revision().equals(ListRevision.UNKNOWN))
+            {
+                return response;
+            }
+
+            // tagged with the revision the list was loaded at, a list cached on this replica before a write of
+            // another one is reloaded instead of being served under the newer tag
+            var etag = ConditionalUtils.listTag(tasks.revision(), listView.name(), null, null);
+            return ConditionalUtils.tagged(response, etag);
+
+        } catch (final Exception e)
+        {
+            LOGGER.debug("Could not fetch tasks");
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch tasks");
+        }
+    }
+
+    private Response pagedTasks(final String userUid, final Integer limit, final String after,
+            final ListView listView)
+    {
+        if (limit != null && limit < 1)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Limit must be a positive number");
+        }
+
+        var pageSize = limit == null ? defaultLimit : Math.min(limit, maxLimit);
+
+        try
+        {
+            var page = listView == ListView.SUMMARY
+                    ? taskService.getTaskSummariesPage(userUid, after, pageSize)
+                    : taskService.getTasksPage(userUid, after, pageSize);
+            return ResponseUtils.pagedResponse(Response.Status.OK, page.getItems(), page.getNextCursor());
+
+        } catch (final IllegalArgumentException e)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Invalid cursor");
+        } catch (final Exception e)
+        {
+            return ResponseUtils.errorResponse(Response.Status.BAD_REQUEST, "Could not fetch tasks");
+        }
+    }
 }
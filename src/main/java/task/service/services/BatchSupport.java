@@ -0,0 +1,164 @@
+package task.service.services;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import task.service.models.BatchItemResult;
+import task.service.models.BatchResult;
+import task.service.models.payloads.BatchAction;
+import task.service.models.payloads.BatchOperation;
+import task.service.models.payloads.ItemPayload;
+import task.service.utils.UpdateUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Turns batch operations of one user into write models for a single unordered bulk write and maps the outcome back
+ * to the operations. Invalid operations are reported and left out of the write. The bulk write result only has
+ * totals, so the live items of the user among the targeted uids are read before the write: updates and deletes of
+ * other uids are reported as not found and left out as well. Operations on a uid deleted earlier in the batch are
+ * treated the same, so the outcome does not depend on the order the server applies the writes in.
+ */
+final class BatchSupport<T, P extends ItemPayload>
+{
+    private final Function<P, T> newItem;
+    private final Function<T, String> uidOf;
+    private final Function<P, List<Document>> update;
+    private final long currentTime;
+
+    BatchSupport(final Function<P, T> newItem, final Function<T, String> uidOf,
+            final Function<P, List<Document>> update, final long currentTime)
+    {
+        this.newItem = newItem;
+        this.uidOf = uidOf;
+        this.update = update;
+        this.currentTime = currentTime;
+    }
+
+    /**
+     * @param liveUids the uids among the given ones of the user's live items, only asked for when the batch updates or
+     *            deletes
+     */
+    BatchResult apply(final String userUid, final List<BatchOperation<P>> operations,
+            final Function<List<WriteModel<T>>, BulkWriteResult> bulkWrite,
+            final Function<List<String>, Set<String>> liveUids)
+    {
+        var items = new ArrayList<BatchItemResult>(operations.size());
+        var models = new ArrayList<WriteModel<T>>(operations.size());
+        var modelItems = new ArrayList<BatchItemResult>(operations.size());
+        var softDelete = UpdateUtils.softDelete(currentTime);
+        var live = findLive(operations, liveUids);
+
+        for (var index = 0; index < operations.size(); index++)
+        {
+            var operation = operations.get(index);
+
+            if (operation == null || !operation.isValid())
+            {
+                var item = new BatchItemResult(index, operation == null ? null : operation.getAction(),
+                        operation == null ? null : operation.getItemUid(), BatchItemResult.INVALID);
+                item.setMessage("Invalid operation, check action, itemUid and payload");
+                items.add(item);
+                continue;
+            }
+
+            var itemUid = operation.getItemUid();
+
+            if (operation.getAction() != BatchAction.CREATE && !live.contains(itemUid))
+            {
+                var item = new BatchItemResult(index, operation.getAction(), itemUid, BatchItemResult.NOT_FOUND);
+                item.setMessage("No item with this uid");
+                items.add(item);
+                continue;
+            }
+
+            switch (operation.getAction())
+            {
+                case CREATE -> {
+                    var newEntity = newItem.apply(operation.getPayload());
+                    itemUid = uidOf.apply(newEntity);
+                    models.add(new InsertOneModel<>(newEntity));
+                }
+                case UPDATE -> models.add(new UpdateOneModel<>(userItem(userUid, itemUid),
+                        update.apply(operation.getPayload())));
+                case DELETE -> {
+                    models.add(new UpdateOneModel<>(userItem(userUid, itemUid), softDelete));
+                    live.remove(itemUid);
+                }
+            }
+
+            var item = new BatchItemResult(index, operation.getAction(), itemUid, BatchItemResult.ACCEPTED);
+            items.add(item);
+            modelItems.add(item);
+        }
+
+        var result = new BatchResult(items);
+
+        if (models.isEmpty())
+        {
+            return result;
+        }
+
+        BulkWriteResult writeResult;
+
+        try
+        {
+            writeResult = bulkWrite.apply(models);
+
+        } catch (final MongoBulkWriteException e)
+        {
+            // unordered, so every other model was still applied
+            for (var error : e.getWriteErrors())
+            {
+                var item = modelItems.get(error.getIndex());
+                item.setStatus(BatchItemResult.FAILED);
+                item.setMessage(error.getMessage());
+            }
+
+            writeResult = e.getWriteResult();
+        }
+
+        setTotals(result, writeResult);
+
+        // deletes are soft, the database reports them as updates
+        result.setDeletedCount((int) modelItems.stream().filter(item -> item.getAction() == BatchAction.DELETE
+                && BatchItemResult.ACCEPTED.equals(item.getStatus())).count());
+
+        return result;
+    }
+
+    // uids are generated on create and deletes are final, so an item that is not live now will not match in the write
+    private static <P extends ItemPayload> Set<String> findLive(final List<BatchOperation<P>> operations,
+            final Function<List<String>, Set<String>> liveUids)
+    {
+        var targeted = operations.stream().filter(operation -> operation != null && operation.isValid()
+                && operation.getAction() != BatchAction.CREATE).map(BatchOperation::getItemUid).distinct().toList();
+
+        return targeted.isEmpty() ? new HashSet<>() : new HashSet<>(liveUids.apply(targeted));
+    }
+
+    // scoping updates and deletes to the user so a batch can never touch items of someone else or deleted ones
+    private static Document userItem(final String userUid, final String itemUid)
+    {
+        return new Document("uid", itemUid).append("userUid", userUid).append("deletedAt", null);
+    }
+
+    private static void setTotals(final BatchResult result, final BulkWriteResult writeResult)
+    {
+        if (!writeResult.wasAcknowledged())
+        {
+            return;
+        }
+
+        result.setInsertedCount(writeResult.getInsertedCount());
+        result.setMatchedCount(writeResult.getMatchedCount());
+        result.setModifiedCount(writeResult.getModifiedCount());
+    }
+}
@@ -1,18 +1,40 @@
 package task.service.services;
 
+import com.mongodb.client.MongoCursor;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.ClientErrorException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+import org.bson.Document;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import task.service.cache.ListKind;
+import task.service.cache.ListRevision;
+import task.service.cache.RevisionedList;
+import task.service.cache.UserListCache;
+import task.service.logging.WriteEventLog;
+import task.service.models.BatchResult;
+import task.service.models.PageCursor;
+import task.service.models.PagedResult;
+import task.service.models.SyncDelta;
 import task.service.models.Note;
+import task.service.models.NoteSummary;
+import task.service.models.payloads.BatchOperation;
 import task.service.models.payloads.NotePayload;
 import task.service.repos.NoteRepository;
+import task.service.resilience.StaleReadFallback;
+import task.service.tracing.TracedLayer;
+import task.service.utils.UpdateUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @ApplicationScoped
+@TracedLayer("service")
 public class NoteService
 {
     private final static Logger LOGGER = LoggerFactory.getLogger(NoteService.class);
@@ -20,85 +42,203 @@ public class NoteService
     @Inject
     NoteRepository repository;
 
-    public List<Note> getAllNotes(final String userUid)
+    @Inject
+    UserListCache listCache;
+
+    @Inject
+    WriteEventLog eventLog;
+
+    @ConfigProperty(name = "task-service.sync.overlap", defaultValue = "5s")
+    Duration syncOverlap;
+
+    @ConfigProperty(name = "task-service.soft-delete.retention", defaultValue = "30d")
+    Duration deleteRetention;
+
+    /**
+     * Revision of the user's notes, changes with every write. Read it before the items it describes.
+     */
+    public ListRevision getNotesRevision(final String userUid)
+    {
+        return repository.findRevision(userUid);
+    }
+
+    /**
+     * All notes of the user with the revision they are at least as new as, a list cached before the given revision of
+     * {@link #getNotesRevision} is loaded again.
+     */
+    @StaleReadFallback(ListKind.ALL_NOTES)
+    public RevisionedList<Note> getAllNotes(final String userUid, final ListRevision revision)
     {
         LOGGER.debug("Fetching all notes for user");
-        var notes = repository.findByUserUid(userUid);
+        var notes = listCache.get(userUid, ListKind.ALL_NOTES, revision, () -> repository.findByUserUid(userUid));
 
         LOGGER.debug("All notes fetched");
         return notes;
     }
 
-    public Note createNote(final String userUid, final NotePayload payload)
+    @StaleReadFallback(ListKind.ALL_NOTE_SUMMARIES)
+    public RevisionedList<NoteSummary> getNoteSummaries(final String userUid, final ListRevision revision)
     {
-        LOGGER.info("Creating note");
+        LOGGER.debug("Fetching all note summaries for user");
+        var summaries = listCache.get(userUid, ListKind.ALL_NOTE_SUMMARIES, revision,
+                () -> repository.findSummariesByUserUid(userUid));
 
-        var note = buildNewNote(payload, userUid);
+        LOGGER.debug("All note summaries fetched");
+        return summaries;
+    }
 
-        repository.persist(note);
+    public MongoCursor<Note> streamAllNotes(final String userUid)
+    {
+        LOGGER.debug("Opening note stream for user");
+        return repository.streamByUserUid(userUid);
+    }
+
+    public MongoCursor<NoteSummary> streamNoteSummaries(final String userUid)
+    {
+        LOGGER.debug("Opening note summary stream for user");
+        return repository.streamSummariesByUserUid(userUid);
+    }
+
+    public PagedResult<Note> getNotesPage(final String userUid, final String after, final int limit)
+    {
+        LOGGER.debug("Fetching page of notes for user");
+        var cursor = after == null ? null : PageCursor.decode(after);
+
+        // fetching one extra item to know whether a next page exists
+        var notes = repository.findPageByUserUid(userUid, cursor, limit + 1);
+
+        LOGGER.debug("Page of notes fetched");
+        return PagedResult.of(notes, limit, note -> new PageCursor(note.getCreatedAt(), note.getUid()));
+    }
+
+    public PagedResult<NoteSummary> getNoteSummariesPage(final String userUid, final String after, final int limit)
+    {
+        LOGGER.debug("Fetching page of note summaries for user");
+        var cursor = after == null ? null : PageCursor.decode(after);
+
+        // fetching one extra item to know whether a next page exists
+        var summaries = repository.findSummaryPageByUserUid(userUid, cursor, limit + 1);
+
+        LOGGER.debug("Page of note summaries fetched");
+        return PagedResult.of(summaries, limit, summary -> new PageCursor(summary.getCreatedAt(), summary.getUid()));
+    }
+
+    public SyncDelta<Note> getNotesSince(final String userUid, final long since)
+    {
+        LOGGER.debug("Fetching notes changed since watermark for user");
+
+        // taken before querying and moved back by the overlap, so writes stamped by another replica's clock shortly
+        // before this call but committed after it are still in the next delta
+        var now = System.currentTimeMillis();
+        var watermark = now - syncOverlap.toMillis();
 
-        LOGGER.info("Note persisted with values: {}", note);
+        if (since > 0 && since < now - deleteRetention.toMillis())
+        {
+            // deletions before the retention are purged and can no longer be reported
+            throw new ClientErrorException("Watermark is older than the delete retention", Response.Status.GONE);
+        }
 
-        // for debugging fetch the task by uid, the same as eventUid
-        var fetchedNote = repository.findByUid(note.getUid());
-        LOGGER.debug("Note fetched successfully with title: {}", fetchedNote.getTitle());
+        var notes = new ArrayList<Note>();
+        var deletedUids = new ArrayList<String>();
+
+        for (var note : repository.findUpdatedSince(userUid, since))
+        {
+            if (note.getDeletedAt() == null)
+            {
+                notes.add(note);
+            } else
+            {
+                deletedUids.add(note.getUid());
+            }
+        }
+
+        LOGGER.debug("Changed notes fetched");
+        return new SyncDelta<>(notes, deletedUids, watermark);
+    }
+
+    public Note createNote(final String userUid, final NotePayload payload)
+    {
+        var note = buildNewNote(payload, userUid);
+
+        repository.persist(note);
+        listCache.invalidateNotes(userUid);
+        eventLog.written("note.created", note.getUid(), userUid, payload);
 
         return note;
     }
 
     public Note updateNote(final NotePayload payload, final String itemUid)
     {
-        LOGGER.info("Updating note");
+        var note = repository.findAndUpdate(itemUid, buildNoteUpdate(payload, System.currentTimeMillis()));
 
-        var note = buildUpdatedNote(payload, itemUid);
+        if (note == null)
+        {
+            throw new NotFoundException("Note with uid " + itemUid + " not found");
+        }
 
-        repository.update(note);
+        listCache.invalidateNotes(note.getUserUid());
+        eventLog.written("note.updated", itemUid, note.getUserUid(), payload);
 
-        LOGGER.info("Note updated with values: {}", note);
+        return note;
+    }
 
-        var fetchedNote = repository.findByUid(note.getUid());
-        LOGGER.debug("Updated note fetched successfully with title: {}", fetchedNote.getTitle());
+    public BatchResult applyNoteBatch(final String userUid, final List<BatchOperation<NotePayload>> operations)
+    {
+        var currentTime = System.currentTimeMillis();
+        var batch = new BatchSupport<Note, NotePayload>(payload -> buildNewNote(payload, userUid), Note::getUid,
+                payload -> buildNoteUpdate(payload, currentTime), currentTime);
 
-        return note;
+        try
+        {
+            var result = batch.apply(userUid, operations, repository::bulkWrite,
+                    uids -> repository.findLiveUids(userUid, uids));
+            eventLog.batch("note.batch", userUid, operations.size(), result);
+            return result;
+        } finally
+        {
+            // also after a failed write, parts of the batch may have been applied
+            listCache.invalidateNotes(userUid);
+        }
     }
 
     public void deleteNote(final String itemUid)
     {
         try
         {
-            var noteToDelete = repository.findByUid(itemUid);
+            // one round trip, the TTL index purges the item after the retention
+            var deletedNote = repository.findAndUpdate(itemUid, UpdateUtils.softDelete(System.currentTimeMillis()));
 
-            if (noteToDelete == null)
+            if (deletedNote == null)
             {
-                throw new NotFoundException("Task with uid " + itemUid + " not found");
+                throw new NotFoundException("Note with uid " + itemUid + " not found");
             }
 
-            repository.delete(noteToDelete);
-            LOGGER.debug("Task with uid {} deleted", itemUid);
+            listCache.invalidateNotes(deletedNote.getUserUid());
+            eventLog.deleted("note.deleted", itemUid, deletedNote.getUserUid());
 
         } catch (Exception e)
         {
-            LOGGER.debug("Could not delete task");
+            LOGGER.debug("Could not delete note");
             throw new RuntimeException();
         }
     }
 
-    private Note buildUpdatedNote(final NotePayload payload, final String itemUid)
+    static List<Document> buildNoteUpdate(final NotePayload payload, final long currentTime)
     {
-        var noteToUpdate = repository.findByUid(itemUid);
+        var fields = new Document();
 
         if (payload.getTitle() != null)
-            noteToUpdate.setTitle(payload.getTitle());
+            fields.append("title", UpdateUtils.literal(payload.getTitle()));
 
         if (payload.getText() != null)
-            noteToUpdate.setText(payload.getText());
+            fields.append("text", UpdateUtils.literal(payload.getText()));
 
-        noteToUpdate.setUpdatedAt(System.currentTimeMillis()); // setting current time when updated
+        fields.append("updatedAt", currentTime); // setting current time when updated
 
-        return noteToUpdate;
+        return UpdateUtils.setStage(fields);
     }
 
-    private Note buildNewNote(final NotePayload payload, final String userUid)
+    static Note buildNewNote(final NotePayload payload, final String userUid)
     {
         var note = new Note();
 
@@ -0,0 +1,72 @@
+package task.service.services;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.service.cache.UserListCache;
+import task.service.logging.WriteEventLog;
+import task.service.models.Note;
+import task.service.models.payloads.NotePayload;
+import task.service.repos.ReactiveNoteRepository;
+import task.service.utils.UpdateUtils;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link NoteService}, sharing its item building logic.
+ */
+@ApplicationScoped
+public class ReactiveNoteService
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(ReactiveNoteService.class);
+
+    @Inject
+    ReactiveNoteRepository repository;
+
+    @Inject
+    UserListCache listCache;
+
+    @Inject
+    WriteEventLog eventLog;
+
+    public Uni<List<Note>> getAllNotes(final String userUid)
+    {
+        LOGGER.debug("Fetching all notes for user");
+        return repository.findByUserUid(userUid);
+    }
+
+    public Multi<Note> streamAllNotes(final String userUid)
+    {
+        LOGGER.debug("Opening note stream for user");
+        return repository.streamByUserUid(userUid);
+    }
+
+    public Uni<Note> createNote(final String userUid, final NotePayload payload)
+    {
+        var note = NoteService.buildNewNote(payload, userUid);
+        return repository.persist(note)
+                .invoke(() -> listCache.invalidateNotes(userUid))
+                .invoke(() -> eventLog.written("note.created", note.getUid(), userUid, payload));
+    }
+
+    public Uni<Note> updateNote(final NotePayload payload, final String itemUid)
+    {
+        // a single conditional write, a concurrent delete cannot be undone by writing back a stale copy
+        return repository.findAndUpdate(itemUid, NoteService.buildNoteUpdate(payload, System.currentTimeMillis()))
+                .onItem().ifNull().failWith(() -> new NotFoundException("Note with uid " + itemUid + " not found"))
+                .invoke(updated -> listCache.invalidateNotes(updated.getUserUid()))
+                .invoke(updated -> eventLog.written("note.updated", itemUid, updated.getUserUid(), payload));
+    }
+
+    public Uni<Void> deleteNote(final String itemUid)
+    {
+        return repository.findAndUpdate(itemUid, UpdateUtils.softDelete(System.currentTimeMillis())).onItem()
+                .ifNull().failWith(() -> new NotFoundException("Note with uid " + itemUid + " not found"))
+                .invoke(note -> listCache.invalidateNotes(note.getUserUid()))
+                .invoke(note -> eventLog.deleted("note.deleted", itemUid, note.getUserUid())).replaceWithVoid();
+    }
+}
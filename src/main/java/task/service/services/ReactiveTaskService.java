@@ -0,0 +1,84 @@
+package task.service.services;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.service.cache.UserListCache;
+import task.service.logging.WriteEventLog;
+import task.service.models.Task;
+import task.service.models.payloads.TaskPayload;
+import task.service.repos.ReactiveTaskRepository;
+import task.service.utils.UpdateUtils;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link TaskService}, sharing its item building logic.
+ */
+@ApplicationScoped
+public class ReactiveTaskService
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(ReactiveTaskService.class);
+
+    @Inject
+    ReactiveTaskRepository repository;
+
+    @Inject
+    UserListCache listCache;
+
+    @Inject
+    WriteEventLog eventLog;
+
+    public Uni<List<Task>> getAllTasks(final String userUid)
+    {
+        LOGGER.debug("Fetching all tasks for user");
+        return repository.findByUserUid(userUid);
+    }
+
+    public Multi<Task> streamAllTasks(final String userUid)
+    {
+        LOGGER.debug("Opening task stream for user");
+        return repository.streamByUserUid(userUid);
+    }
+
+    public Uni<List<Task>> getCompletedTasks(final String userUid)
+    {
+        LOGGER.debug("Fetching all completed tasks for user");
+        return repository.findCompletedByUserUid(userUid);
+    }
+
+    public Uni<List<Task>> getPriorityTasks(final String userUid)
+    {
+        LOGGER.debug("Fetching all priority tasks for user");
+        return repository.findPriorityByUserUid(userUid);
+    }
+
+    public Uni<Task> createTask(final String userUid, final TaskPayload payload)
+    {
+        var task = TaskService.buildNewTask(payload, userUid);
+        return repository.persist(task)
+                .invoke(() -> listCache.invalidateTasks(userUid))
+                .invoke(() -> eventLog.written("task.created", task.getUid(), userUid, payload));
+    }
+
+    public Uni<Task> updateTask(final TaskPayload payload, final String itemUid)
+    {
+        // a single conditional write, a concurrent delete cannot be undone by writing back a stale copy
+        return repository.findAndUpdate(itemUid, TaskService.buildTaskUpdate(payload, System.currentTimeMillis()))
+                .onItem().ifNull().failWith(() -> new NotFoundException("Task with uid " + itemUid + " not found"))
+                .invoke(updated -> listCache.invalidateTasks(updated.getUserUid()))
+                .invoke(updated -> eventLog.written("task.updated", itemUid, updated.getUserUid(), payload));
+    }
+
+    public Uni<Void> deleteTask(final String itemUid)
+    {
+        return repository.findAndUpdate(itemUid, UpdateUtils.softDelete(System.currentTimeMillis())).onItem()
+                .ifNull().failWith(() -> new NotFoundException("Task with uid " + itemUid + " not found"))
+                .invoke(task -> listCache.invalidateTasks(task.getUserUid()))
+                .invoke(task -> eventLog.deleted("task.deleted", itemUid, task.getUserUid())).replaceWithVoid();
+    }
+}
@@ -0,0 +1,28 @@
+package task.service.services;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import task.service.models.UserStats;
+import task.service.repos.StatsRepository;
+import task.service.tracing.TracedLayer;
+
+@ApplicationScoped
+@TracedLayer("service")
+public class StatsService
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(StatsService.class);
+
+    @Inject
+    StatsRepository repository;
+
+    public UserStats getUserStats(final String userUid)
+    {
+        LOGGER.debug("Counting items for user");
+        var stats = repository.aggregateUserStats(userUid);
+
+        LOGGER.debug("Items counted");
+        return stats;
+    }
+}
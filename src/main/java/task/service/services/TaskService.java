@@ -1,18 +1,40 @@
 package task.service.services;
 
+import com.mongodb.client.MongoCursor;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.ClientErrorException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+import org.bson.Document;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import task.service.cache.ListKind;
+import task.service.cache.ListRevision;
+import task.service.cache.RevisionedList;
+import task.service.cache.UserListCache;
+import task.service.logging.WriteEventLog;
+import task.service.models.BatchResult;
+import task.service.models.PageCursor;
+import task.service.models.PagedResult;
+import task.service.models.SyncDelta;
 import task.service.models.Task;
+import task.service.models.TaskSummary;
+import task.service.models.payloads.BatchOperation;
 import task.service.models.payloads.TaskPayload;
 import task.service.repos.TaskRepository;
+import task.service.resilience.StaleReadFallback;
+import task.service.tracing.TracedLayer;
+import task.service.utils.UpdateUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @ApplicationScoped
+@TracedLayer("service")
 public class TaskService
 {
     private final static Logger LOGGER = LoggerFactory.getLogger(TaskService.class);
@@ -20,89 +42,232 @@ public class TaskService
     @Inject
     TaskRepository repository;
 
-    public List<Task> getAllTasks(final String userUid)
+    @Inject
+    UserListCache listCache;
+
+    @Inject
+    WriteEventLog eventLog;
+
+    @ConfigProperty(name = "task-service.sync.overlap", defaultValue = "5s")
+    Duration syncOverlap;
+
+    @ConfigProperty(name = "task-service.soft-delete.retention", defaultValue = "30d")
+    Duration deleteRetention;
+
+    /**
+     * Revision of the user's tasks, changes with every write. Read it before the items it describes.
+     */
+    public ListRevision getTasksRevision(final String userUid)
+    {
+        return repository.findRevision(userUid);
+    }
+
+    /**
+     * All tasks of the user with the revision they are at least as new as, a list cached before the given revision of
+     * {@link #getTasksRevision} is loaded again.
+     */
+    @StaleReadFallback(ListKind.ALL_TASKS)
+    public RevisionedList<Task> getAllTasks(final String userUid, final ListRevision revision)
     {
         LOGGER.debug("Fetching all tasks for user");
-        var tasks = repository.findByUserUid(userUid);
+        var tasks = listCache.get(userUid, ListKind.ALL_TASKS, revision, () -> repository.findByUserUid(userUid));
 
         LOGGER.debug("All tasks fetched");
         return tasks;
     }
 
+    @StaleReadFallback(ListKind.ALL_TASK_SUMMARIES)
+    public RevisionedList<TaskSummary> getTaskSummaries(final String userUid, final ListRevision revision)
+    {
+        LOGGER.debug("Fetching all task summaries for user");
+        var summaries = listCache.get(userUid, ListKind.ALL_TASK_SUMMARIES, revision,
+                () -> repository.findSummariesByUserUid(userUid));
+
+        LOGGER.debug("All task summaries fetched");
+        return summaries;
+    }
+
+    public MongoCursor<Task> streamAllTasks(final String userUid)
+    {
+        LOGGER.debug("Opening task stream for user");
+        return repository.streamByUserUid(userUid);
+    }
+
+    public MongoCursor<TaskSummary> streamTaskSummaries(final String userUid)
+    {
+        LOGGER.debug("Opening task summary stream for user");
+        return repository.streamSummariesByUserUid(userUid);
+    }
+
+    public PagedResult<Task> getTasksPage(final String userUid, final String after, final int limit)
+    {
+        LOGGER.debug("Fetching page of tasks for user");
+        var cursor = after == null ? null : PageCursor.decode(after);
+
+        // fetching one extra item to know whether a next page exists
+        var tasks = repository.findPageByUserUid(userUid, cursor, limit + 1);
+
+        LOGGER.debug("Page of tasks fetched");
+        return PagedResult.of(tasks, limit, task -> new PageCursor(task.getCreatedAt(), task.getUid()));
+    }
+
+    public PagedResult<TaskSummary> getTaskSummariesPage(final String userUid, final String after, final int limit)
+    {
+        LOGGER.debug("Fetching page of task summaries for user");
+        var cursor = after == null ? null : PageCursor.decode(after);
+
+        // fetching one extra item to know whether a next page exists
+        var summaries = repository.findSummaryPageByUserUid(userUid, cursor, limit + 1);
+
+        LOGGER.debug("Page of task summaries fetched");
+        return PagedResult.of(summaries, limit, summary -> new PageCursor(summary.getCreatedAt(), summary.getUid()));
+    }
+
+    @StaleReadFallback(ListKind.COMPLETED_TASKS)
     public List<Task> getCompletedTasks(final String userUid)
     {
         LOGGER.debug("Fetching all completed tasks for user");
-        var tasks = repository.findCompletedByUserUid(userUid);
+        var tasks = listCache.get(userUid, ListKind.COMPLETED_TASKS,
+                () -> repository.findCompletedByUserUid(userUid));
 
         LOGGER.debug("All competed tasks fetched");
         return tasks;
     }
 
+    @StaleReadFallback(ListKind.COMPLETED_TASK_SUMMARIES)
+    public List<TaskSummary> getCompletedTaskSummaries(final String userUid)
+    {
+        LOGGER.debug("Fetching all completed task summaries for user");
+        var summaries = listCache.get(userUid, ListKind.COMPLETED_TASK_SUMMARIES,
+                () -> repository.findCompletedSummariesByUserUid(userUid));
+
+        LOGGER.debug("All completed task summaries fetched");
+        return summaries;
+    }
+
+    @StaleReadFallback(ListKind.PRIORITY_TASKS)
     public List<Task> getPriorityTasks(final String userUid)
     {
         LOGGER.debug("Fetching all priority tasks for user");
-        var tasks = repository.findPriorityByUserUid(userUid);
+        var tasks = listCache.get(userUid, ListKind.PRIORITY_TASKS,
+                () -> repository.findPriorityByUserUid(userUid));
 
         LOGGER.debug("All priority tasks fetched");
         return tasks;
     }
 
-    public Task createTask(final String userUid, final TaskPayload payload)
+    @StaleReadFallback(ListKind.PRIORITY_TASK_SUMMARIES)
+    public List<TaskSummary> getPriorityTaskSummaries(final String userUid)
+    {
+        LOGGER.debug("Fetching all priority task summaries for user");
+        var summaries = listCache.get(userUid, ListKind.PRIORITY_TASK_SUMMARIES,
+                () -> repository.findPrioritySummariesByUserUid(userUid));
+
+        LOGGER.debug("All priority task summaries fetched");
+        return summaries;
+    }
+
+    public SyncDelta<Task> getTasksSince(final String userUid, final long since)
     {
+        LOGGER.debug("Fetching tasks changed since watermark for user");
 
-        LOGGER.info("Creating task");
+        // taken before querying and moved back by the overlap, so writes stamped by another replica's clock shortly
+        // before this call but committed after it are still in the next delta
+        var now = System.currentTimeMillis();
+        var watermark = now - syncOverlap.toMillis();
 
-        var task = buildNewTask(payload, userUid);
+        if (since > 0 && since < now - deleteRetention.toMillis())
+        {
+            // deletions before the retention are purged and can no longer be reported
+            throw new ClientErrorException("Watermark is older than the delete retention", Response.Status.GONE);
+        }
 
-        repository.persist(task);
+        var tasks = new ArrayList<Task>();
+        var deletedUids = new ArrayList<String>();
+
+        for (var task : repository.findUpdatedSince(userUid, since))
+        {
+            if (task.getDeletedAt() == null)
+            {
+                tasks.add(task);
+            } else
+            {
+                deletedUids.add(task.getUid());
+            }
+        }
 
-        LOGGER.info("Task persisted with values: {}", task);
+        LOGGER.debug("Changed tasks fetched");
+        return new SyncDelta<>(tasks, deletedUids, watermark);
+    }
 
-        // for debugging fetch the task by uid, the same as eventUid
-        var fetchedTask = repository.findByUid(task.getUid());
-        LOGGER.info("Task fetched successfully with title: {}", fetchedTask.getTitle());
+    public Task createTask(final String userUid, final TaskPayload payload)
+    {
+        var task = buildNewTask(payload, userUid);
+
+        repository.persist(task);
+        listCache.invalidateTasks(userUid);
+        eventLog.written("task.created", task.getUid(), userUid, payload);
 
         return task;
     }
 
     public Task updateTask(final TaskPayload payload, final String itemUid)
     {
-        LOGGER.info("Updating task");
+        var task = repository.findAndUpdate(itemUid, buildTaskUpdate(payload, System.currentTimeMillis()));
 
-        var task = buildUpdatedTask(payload, itemUid);
+        if (task == null)
+        {
+            throw new NotFoundException("Task with uid " + itemUid + " not found");
+        }
 
-        repository.update(task);
+        listCache.invalidateTasks(task.getUserUid());
+        eventLog.written("task.updated", itemUid, task.getUserUid(), payload);
 
-        LOGGER.info("Task updated with values: {}", task);
+        return task;
+    }
 
-        var fetchedTask = repository.findByUid(task.getUid());
-        LOGGER.debug("Updated task fetched successfully with title: {}", fetchedTask.getTitle());
+    public BatchResult applyTaskBatch(final String userUid, final List<BatchOperation<TaskPayload>> operations)
+    {
+        var currentTime = System.currentTimeMillis();
+        var batch = new BatchSupport<Task, TaskPayload>(payload -> buildNewTask(payload, userUid), Task::getUid,
+                payload -> buildTaskUpdate(payload, currentTime), currentTime);
 
-        return task;
+        try
+        {
+            var result = batch.apply(userUid, operations, repository::bulkWrite,
+                    uids -> repository.findLiveUids(userUid, uids));
+            eventLog.batch("task.batch", userUid, operations.size(), result);
+            return result;
+        } finally
+        {
+            // also after a failed write, parts of the batch may have been applied
+            listCache.invalidateTasks(userUid);
+        }
     }
 
     public void deleteTask(final String itemUid)
     {
         try
         {
-            var taskToDelete = repository.findByUid(itemUid);
+            // one round trip, the TTL index purges the item after the retention
+            var deletedTask = repository.findAndUpdate(itemUid, UpdateUtils.softDelete(System.currentTimeMillis()));
 
-            if (taskToDelete == null)
+            if (deletedTask == null)
             {
                 throw new NotFoundException("Task with uid " + itemUid + " not found");
             }
 
-            repository.delete(taskToDelete);
-            LOGGER.info("Task with uid {} deleted", itemUid);
+            listCache.invalidateTasks(deletedTask.getUserUid());
+            eventLog.deleted("task.deleted", itemUid, deletedTask.getUserUid());
 
         } catch (Exception e)
         {
-            LOGGER.info("Could not delete task");
+            LOGGER.debug("Could not delete task");
             throw new RuntimeException();
         }
     }
 
-    private Task buildNewTask(final TaskPayload payload, final String userUid)
+    static Task buildNewTask(final TaskPayload payload, final String userUid)
     {
         var task = new Task();
 
@@ -132,39 +297,36 @@ public class TaskService
         return task;
     }
 
-    private Task buildUpdatedTask(final TaskPayload payload, final String utemUid)
+    /**
+     * Builds a single stage update that only sets the fields present in the payload, completedAt is resolved by the
+     * database so no prior read of the task is needed.
+     */
+    static List<Document> buildTaskUpdate(final TaskPayload payload, final long currentTime)
     {
-        var taskToUpdate = repository.findByUid(utemUid);
-        var currentTime = System.currentTimeMillis();
+        var fields = new Document();
 
         if (payload.getTitle() != null)
-            taskToUpdate.setTitle(payload.getTitle());
+            fields.append("title", UpdateUtils.literal(payload.getTitle()));
 
         if (payload.getDescription() != null)
-            taskToUpdate.setDescription(payload.getDescription());
+            fields.append("description", UpdateUtils.literal(payload.getDescription()));
 
         if (payload.getPriority() != null)
-            taskToUpdate.setPriority(payload.getPriority());
+            fields.append("priority", payload.getPriority());
 
         if (payload.getCompleted() != null)
         {
             var isCompleted = payload.getCompleted();
 
-            taskToUpdate.setCompleted(isCompleted);
+            fields.append("completed", isCompleted);
 
-            if (isCompleted && taskToUpdate.getCompletedAt() == null)
-            {
-                // setting current time when completed if updated value=true and current is null
-                taskToUpdate.setCompletedAt(currentTime);
-
-            } else if (!isCompleted)
-            {
-                taskToUpdate.setCompletedAt(null);
-            }
+            // keeping an existing completion time when completed again, clearing it when reopened
+            fields.append("completedAt",
+                    isCompleted ? new Document("$ifNull", List.of("$completedAt", currentTime)) : null);
         }
 
-        taskToUpdate.setUpdatedAt(currentTime); // setting the current time when updated
+        fields.append("updatedAt", currentTime); // setting the current time when updated
 
-        return taskToUpdate;
+        return UpdateUtils.setStage(fields);
     }
 }
@@ -0,0 +1,24 @@
+package task.service.tracing;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opens a span per method call of the annotated resource, service or repository, see {@link TracedLayerInterceptor}.
+ */
+@Inherited
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface TracedLayer
+{
+    // the layer name, recorded as task.layer
+    @Nonbinding
+    String value();
+}
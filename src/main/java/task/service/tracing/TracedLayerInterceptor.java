@@ -0,0 +1,106 @@
+package task.service.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.ws.rs.core.Response;
+import task.service.cache.RevisionedList;
+import task.service.models.BatchResult;
+import task.service.models.PagedResult;
+import task.service.models.ResponseEnvelope;
+import task.service.models.SyncDelta;
+import task.service.utils.InvocationUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+/**
+ * Wraps each call in a span named Class.method, tagged with the layer, the operation, the userUid argument and the
+ * size of the result. Nested calls become child spans, so a slow request shows which layer took the time. For
+ * resources, the time between the end of the resource span and the end of the HTTP span is JSON serialization.
+ */
+@TracedLayer("")
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class TracedLayerInterceptor
+{
+    @Inject
+    Tracer tracer;
+
+    @AroundInvoke
+    @SuppressWarnings("try")
+    Object trace(final InvocationContext context) throws Exception
+    {
+        var method = context.getMethod();
+        var span = tracer.spanBuilder(method.getDeclaringClass().getSimpleName() + "." + method.getName())
+                .setAttribute("task.layer", layerOf(method)).setAttribute("task.operation", method.getName())
+                .startSpan();
+
+        var userUid = InvocationUtils.userUidOf(method, context.getParameters());
+        if (userUid != null)
+        {
+            span.setAttribute("task.user_uid", userUid);
+        }
+
+        try (var scope = span.makeCurrent())
+        {
+            var result = context.proceed();
+            tagResult(span, result);
+            return result;
+
+        } catch (final Exception e)
+        {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally
+        {
+            span.end();
+        }
+    }
+
+    private static String layerOf(final Method method)
+    {
+        var binding = method.getAnnotation(TracedLayer.class);
+        if (binding == null)
+        {
+            binding = method.getDeclaringClass().getAnnotation(TracedLayer.class);
+        }
+
+        return binding == null ? "" : binding.value();
+    }
+
+    static void tagResult(final Span span, final Object result)
+    {
+        if (result instanceof Response response)
+        {
+            span.setAttribute("task.response.status", response.getStatus());
+
+            if (response.getEntity() instanceof ResponseEnvelope envelope)
+            {
+                tagResult(span, envelope.getData());
+            }
+            return;
+        }
+
+        var size = switch (result)
+        {
+            case Collection<?> items -> items.size();
+            case RevisionedList<?> list -> list.items().size();
+            case PagedResult<?> page -> page.getItems().size();
+            case SyncDelta<?> delta -> delta.getItems().size() + delta.getDeletedUids().size();
+            case BatchResult batch -> batch.getItems().size();
+            case null, default -> -1;
+        };
+
+        if (size >= 0)
+        {
+            span.setAttribute("task.result.size", size);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package task.service.utils;
+
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import task.service.cache.ListRevision;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class ConditionalUtils
+{
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    ConditionalUtils()
+    {
+    }
+
+    /**
+     * Tag of a list response, the revision of the items plus the query parameters shaping the response. The parameter
+     * values are encoded in full, so two different pages or views never share a tag.
+     */
+    public static EntityTag listTag(final ListRevision revision, final Object... parameters)
+    {
+        var tag = new StringBuilder(revision.tagValue());
+
+        for (var parameter : parameters)
+        {
+            // base64url never contains the separator or the null marker
+            tag.append('.').append(parameter == null ? "~" : ENCODER.encodeToString(
+                    parameter.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+
+        return new EntityTag(tag.toString());
+    }
+
+    /**
+     * A 304 response when the client already holds the tagged version, otherwise null.
+     */
+    public static Response notModified(final Request request, final EntityTag tag)
+    {
+        var builder = request.evaluatePreconditions(tag);
+        return builder == null ? null : builder.tag(tag).cacheControl(revalidate()).build();
+    }
+
+    public static Response tagged(final Response response, final EntityTag tag)
+    {
+        // error envelopes must not be revalidated against the tag of the data
+        if (response.getStatus() != Response.Status.OK.getStatusCode())
+        {
+            return response;
+        }
+
+        return Response.fromResponse(response).tag(tag).cacheControl(revalidate()).build();
+    }
+
+    // clients may keep the list but have to ask before reusing it
+    private static CacheControl revalidate()
+    {
+        var cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        return cacheControl;
+    }
+}
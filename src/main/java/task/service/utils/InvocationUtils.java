@@ -0,0 +1,29 @@
+package task.service.utils;
+
+import java.lang.reflect.Method;
+
+public final class InvocationUtils
+{
+    InvocationUtils()
+    {
+    }
+
+    /**
+     * The argument of the intercepted method's userUid parameter, null when it has none. Parameter names are kept by
+     * the -parameters compiler flag.
+     */
+    public static String userUidOf(final Method method, final Object[] arguments)
+    {
+        var parameters = method.getParameters();
+
+        for (var index = 0; index < parameters.length; index++)
+        {
+            if (parameters[index].getName().equals("userUid") && arguments[index] instanceof String userUid)
+            {
+                return userUid;
+            }
+        }
+
+        return null;
+    }
+}
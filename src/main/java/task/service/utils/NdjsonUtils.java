@@ -0,0 +1,60 @@
+package task.service.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mongodb.client.MongoCursor;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+public final class NdjsonUtils
+{
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    // flushing every document would defeat response buffering, the first one is flushed early for a fast first byte
+    private static final int FLUSH_EVERY = 100;
+
+    NdjsonUtils()
+    {
+    }
+
+    /**
+     * Writes every document of an already opened cursor as one JSON line, the cursor is closed when the stream ends.
+     */
+    public static Response streamResponse(final MongoCursor<?> cursor, final ObjectWriter writer)
+    {
+        // the output stream spans all lines, so jackson must neither close nor flush it per document
+        var lineWriter = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingOutput stream = output -> {
+            try (cursor)
+            {
+                var written = 0;
+
+                while (cursor.hasNext())
+                {
+                    lineWriter.writeValue(output, cursor.next());
+                    output.write('\n');
+
+                    if (++written == 1 || written % FLUSH_EVERY == 0)
+                    {
+                        output.flush();
+                    }
+                }
+            }
+        };
+
+        return Response.ok(stream, APPLICATION_NDJSON).build();
+    }
+
+    /**
+     * Error envelope for streaming endpoints, typed as JSON explicitly since the endpoint itself produces NDJSON.
+     */
+    public static Response errorResponse(final Response.Status status, final String message)
+    {
+        return Response.fromResponse(ResponseUtils.errorResponse(status, message)).type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
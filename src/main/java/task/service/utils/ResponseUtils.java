@@ -1,8 +1,11 @@
 package task.service.utils;
 
+import io.micrometer.core.instrument.Metrics;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import task.service.models.ResponseEnvelope;
 
-import java.util.Map;
+import java.time.Duration;
 
 public final class ResponseUtils
 {
@@ -12,13 +15,44 @@ public final class ResponseUtils
 
     public static Response errorResponse(Response.Status status, String message)
     {
-        return Response.status(status)
-                .entity(Map.of("status", "error", "code", status.getStatusCode(), "message", message)).build();
+        countError(status);
+        return Response.status(status).entity(ResponseEnvelope.error(status.getStatusCode(), message)).build();
+    }
+
+    /**
+     * Error response for a request that was not admitted, Retry-After keeps well behaved clients from retrying at once
+     * into the same overload.
+     */
+    public static Response rejectedResponse(Response.Status status, String message, Duration retryAfter)
+    {
+        countError(status);
+        return Response.status(status).header(HttpHeaders.RETRY_AFTER, Math.max(1, retryAfter.toSeconds()))
+                .entity(ResponseEnvelope.error(status.getStatusCode(), message)).build();
     }
 
     public static Response successResponse(Response.Status status, Object data)
     {
-        return Response.status(status).entity(Map.of("status", "success", "code", status.getStatusCode(), "data", data))
+        return Response.status(status).entity(successEnvelope(status, data)).build();
+    }
+
+    /**
+     * Body of a success response, apart from the response so the serialization benchmarks need no JAX-RS runtime.
+     */
+    public static ResponseEnvelope successEnvelope(Response.Status status, Object data)
+    {
+        return ResponseEnvelope.success(status.getStatusCode(), data);
+    }
+
+    public static Response pagedResponse(Response.Status status, Object data, String nextCursor)
+    {
+        // nextCursor is null on the last page and still written, so clients can tell the last page apart
+        return Response.status(status).entity(ResponseEnvelope.paged(status.getStatusCode(), data, nextCursor))
                 .build();
     }
+
+    // the global registry is backed by the Prometheus one in Quarkus, so the static helpers can count as well
+    private static void countError(final Response.Status status)
+    {
+        Metrics.counter("task.responses.errors", "status", String.valueOf(status.getStatusCode())).increment();
+    }
 }
@@ -0,0 +1,38 @@
+package task.service.utils;
+
+import org.bson.Document;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Helpers for pipeline style updates, which unlike classic update documents can reference current field values.
+ */
+public final class UpdateUtils
+{
+    UpdateUtils()
+    {
+    }
+
+    public static List<Document> setStage(final Document fields)
+    {
+        return List.of(new Document("$set", fields));
+    }
+
+    /**
+     * Marks an item deleted. deletedAt is a date so the TTL index can purge it, updatedAt moves so delta sync reports
+     * the deletion.
+     */
+    public static List<Document> softDelete(final long currentTime)
+    {
+        return setStage(new Document("deletedAt", new Date(currentTime)).append("updatedAt", currentTime));
+    }
+
+    /**
+     * Inside a pipeline a string starting with $ would be read as a field path, user input is wrapped to stay a value.
+     */
+    public static Document literal(final Object value)
+    {
+        return new Document("$literal", value);
+    }
+}
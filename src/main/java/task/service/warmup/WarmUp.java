@@ -0,0 +1,96 @@
+package task.service.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Sends read requests to the instance's own port right after startup, so they take the same path as client requests:
+ * admission, resources, services, repositories and serialization, with the production types at every call site. The
+ * reads are for a warm-up tenant without items, a user of its own per start, so nothing is written to the database;
+ * the JSON of full lists and of write payloads is exercised in memory instead, see {@link WarmUpSerialization}. The
+ * warm-up readiness check stays down until the rounds are done or the time budget is used up.
+ */
+@ApplicationScoped
+public class WarmUp
+{
+    private final static Logger LOGGER = LoggerFactory.getLogger(WarmUp.class);
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "task-service.warm-up.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "task-service.warm-up.rounds", defaultValue = "1000")
+    int rounds;
+
+    @ConfigProperty(name = "task-service.warm-up.time-budget", defaultValue = "30s")
+    Duration timeBudget;
+
+    @ConfigProperty(name = "quarkus.http.port", defaultValue = "8080")
+    int port;
+
+    private volatile boolean finished;
+
+    void onStart(@Observes final StartupEvent event)
+    {
+        if (!enabled)
+        {
+            finished = true;
+            return;
+        }
+
+        Thread.ofPlatform().name("warm-up").daemon().start(this::run);
+    }
+
+    void run()
+    {
+        var start = System.nanoTime();
+        var deadline = start + timeBudget.toNanos();
+        var completed = 0;
+        var traffic = new WarmUpTraffic(vertx, port, "warm-up-" + UUID.randomUUID());
+        var serialization = new WarmUpSerialization(objectMapper);
+
+        try
+        {
+            // the server may still be binding its port when the startup event is observed
+            traffic.awaitServer(deadline);
+
+            while (completed < rounds && System.nanoTime() < deadline)
+            {
+                traffic.round(completed, deadline);
+                serialization.round(completed);
+                completed++;
+            }
+
+        } catch (final RuntimeException e)
+        {
+            // a failing warm-up must not keep the instance out of rotation, it only starts colder
+            LOGGER.warn("Warm-up stopped after {} rounds", completed, e);
+        } finally
+        {
+            traffic.close();
+            finished = true;
+            LOGGER.info("event=warm-up.finished rounds={} millis={}", completed,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+    }
+
+    public boolean isFinished()
+    {
+        return finished;
+    }
+}
@@ -0,0 +1,169 @@
+package task.service.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.Response;
+import task.service.models.Note;
+import task.service.models.NoteSummary;
+import task.service.models.ResponseEnvelope;
+import task.service.models.Task;
+import task.service.models.TaskSummary;
+import task.service.models.payloads.BatchOperation;
+import task.service.models.payloads.NotePayload;
+import task.service.models.payloads.TaskPayload;
+import task.service.utils.ResponseUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The JSON work of the item endpoints on lists of a typical size held in memory: envelopes of tasks, notes and their
+ * summaries written, create, update and batch payloads read, all with the application mapper and its serializers.
+ * Warms what the loopback reads of an empty tenant cannot reach without writing to the database.
+ */
+final class WarmUpSerialization
+{
+    private static final int TASKS = 200;
+    private static final int NOTES = 60;
+    private static final int PAGE = 50;
+    private static final String TEXT = "Synthetic text of a typical length, long enough to exercise string escaping "
+            + "and buffer growth in the generator like the descriptions clients send.";
+
+    private static final TypeReference<List<BatchOperation<TaskPayload>>> TASK_BATCH = new TypeReference<>()
+    {
+    };
+
+    private static final TypeReference<List<BatchOperation<NotePayload>>> NOTE_BATCH = new TypeReference<>()
+    {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final List<Task> tasks = new ArrayList<>(TASKS);
+    private final List<TaskSummary> taskSummaries = new ArrayList<>(TASKS);
+    private final List<Note> notes = new ArrayList<>(NOTES);
+    private final List<NoteSummary> noteSummaries = new ArrayList<>(NOTES);
+
+    WarmUpSerialization(final ObjectMapper objectMapper)
+    {
+        this.objectMapper = objectMapper;
+
+        var userUid = "warm-up-" + UUID.randomUUID();
+
+        for (var i = 0; i < TASKS; i++)
+        {
+            var task = new Task();
+            task.setUid(UUID.randomUUID().toString());
+            task.setUserUid(userUid);
+            task.setType("task");
+            task.setTitle("Warm-up " + i);
+            task.setDescription(TEXT);
+            task.setPriority(i % 5 == 0);
+            task.setCompleted(i % 3 == 0);
+            task.setCreatedAt(System.currentTimeMillis());
+            task.setUpdatedAt(task.getCreatedAt());
+            task.setCompletedAt(task.isCompleted() ? task.getCreatedAt() : null);
+            tasks.add(task);
+            taskSummaries.add(summaryOf(task));
+        }
+
+        for (var i = 0; i < NOTES; i++)
+        {
+            var note = new Note();
+            note.setUid(UUID.randomUUID().toString());
+            note.setUserUid(userUid);
+            note.setType("note");
+            note.setTitle("Warm-up " + i);
+            note.setText(TEXT);
+            note.setCreatedAt(System.currentTimeMillis());
+            note.setUpdatedAt(note.getCreatedAt());
+            notes.add(note);
+            noteSummaries.add(summaryOf(note));
+        }
+    }
+
+    void round(final int round)
+    {
+        var taskUid = tasks.get(round % TASKS).getUid();
+        var noteUid = notes.get(round % NOTES).getUid();
+
+        write(ResponseUtils.successEnvelope(Response.Status.OK, tasks));
+        write(ResponseUtils.successEnvelope(Response.Status.OK, taskSummaries));
+        write(ResponseEnvelope.paged(Response.Status.OK.getStatusCode(), tasks.subList(0, PAGE), taskUid));
+        write(ResponseUtils.successEnvelope(Response.Status.OK, tasks.get(round % TASKS)));
+        write(ResponseUtils.successEnvelope(Response.Status.OK, notes));
+        write(ResponseUtils.successEnvelope(Response.Status.OK, noteSummaries));
+        write(ResponseEnvelope.paged(Response.Status.OK.getStatusCode(), noteSummaries.subList(0, PAGE), null));
+        write(ResponseUtils.successEnvelope(Response.Status.OK, notes.get(round % NOTES)));
+
+        read("{\"title\":\"Warm-up\",\"description\":\"" + TEXT + "\",\"priority\":" + (round % 5 == 0)
+                + ",\"completed\":false}", TaskPayload.class);
+        read("{\"completed\":" + (round % 2 == 0) + "}", TaskPayload.class);
+        read("{\"title\":\"Warm-up\",\"text\":\"" + TEXT + "\"}", NotePayload.class);
+        read("{\"text\":\"" + TEXT + "\"}", NotePayload.class);
+
+        read("[{\"action\":\"update\",\"itemUid\":\"" + taskUid + "\",\"payload\":{\"priority\":true}},"
+                + "{\"action\":\"delete\",\"itemUid\":\"" + taskUid + "\"}]", TASK_BATCH);
+        read("[{\"action\":\"update\",\"itemUid\":\"" + noteUid + "\",\"payload\":{\"title\":\"Warm-up\"}},"
+                + "{\"action\":\"delete\",\"itemUid\":\"" + noteUid + "\"}]", NOTE_BATCH);
+    }
+
+    private static TaskSummary summaryOf(final Task task)
+    {
+        var summary = new TaskSummary();
+        summary.setUid(task.getUid());
+        summary.setType(task.getType());
+        summary.setTitle(task.getTitle());
+        summary.setPriority(task.isPriority());
+        summary.setCompleted(task.isCompleted());
+        summary.setCreatedAt(task.getCreatedAt());
+        summary.setUpdatedAt(task.getUpdatedAt());
+        summary.setCompletedAt(task.getCompletedAt());
+        return summary;
+    }
+
+    private static NoteSummary summaryOf(final Note note)
+    {
+        var summary = new NoteSummary();
+        summary.setUid(note.getUid());
+        summary.setType(note.getType());
+        summary.setTitle(note.getTitle());
+        summary.setCreatedAt(note.getCreatedAt());
+        summary.setUpdatedAt(note.getUpdatedAt());
+        return summary;
+    }
+
+    private void write(final ResponseEnvelope envelope)
+    {
+        try
+        {
+            objectMapper.writeValueAsBytes(envelope);
+        } catch (final JsonProcessingException e)
+        {
+            throw new IllegalStateException("Could not write warm-up envelope", e);
+        }
+    }
+
+    private void read(final String json, final Class<?> type)
+    {
+        try
+        {
+            objectMapper.readValue(json, type);
+        } catch (final JsonProcessingException e)
+        {
+            throw new IllegalStateException("Could not read warm-up payload", e);
+        }
+    }
+
+    private void read(final String json, final TypeReference<?> type)
+    {
+        try
+        {
+            objectMapper.readValue(json, type);
+        } catch (final JsonProcessingException e)
+        {
+            throw new IllegalStateException("Could not read warm-up payload", e);
+        }
+    }
+}
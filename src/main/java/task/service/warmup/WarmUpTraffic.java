@@ -0,0 +1,129 @@
+package task.service.warmup;
+
+import io.vertx.core.Context;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * One round sends the list, page, stream, sync and stats reads of the task and note endpoints for the warm-up tenant, a
+ * user without items. The reads take the production path from the HTTP layer to the repositories, and the tenant
+ * never writes, so the warm-up leaves nothing behind in the database.
+ */
+final class WarmUpTraffic
+{
+    private static final long REQUEST_TIMEOUT_MILLIS = 5_000L;
+    private static final long RETRY_MILLIS = 100L;
+
+    private final Context context;
+    private final HttpClient client;
+    private final String tenant;
+
+    WarmUpTraffic(final Vertx vertx, final int port, final String tenant)
+    {
+        this.context = vertx.getOrCreateContext();
+        this.client = vertx.createHttpClient(new HttpClientOptions().setDefaultHost("127.0.0.1").setDefaultPort(port));
+        this.tenant = tenant;
+    }
+
+    void close()
+    {
+        client.close();
+    }
+
+    /**
+     * Waits until the server answers, at most until the deadline in System.nanoTime().
+     */
+    void awaitServer(final long deadline)
+    {
+        while (true)
+        {
+            try
+            {
+                send("/q/health/live", deadline);
+                return;
+
+            } catch (final IllegalStateException e)
+            {
+                if (System.nanoTime() >= deadline)
+                {
+                    throw e;
+                }
+            }
+
+            try
+            {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the server", e);
+            }
+        }
+    }
+
+    /**
+     * Sends the reads of one round, none of them waits past the deadline in System.nanoTime().
+     */
+    void round(final int round, final long deadline)
+    {
+        expect("/task/all/" + tenant, deadline);
+        expect("/task/all/" + tenant + "?limit=50", deadline);
+        expect("/task/all/" + tenant + "?view=summary", deadline);
+        expect("/task/completed/" + tenant, deadline);
+        expect("/task/priority/" + tenant, deadline);
+        expect("/task/since/" + tenant + "?since=0", deadline);
+        expect("/note/all/" + tenant, deadline);
+        expect("/note/all/" + tenant + "?limit=50&view=summary", deadline);
+        expect("/note/since/" + tenant + "?since=0", deadline);
+
+        if (round % 10 == 0)
+        {
+            expect("/task/all/" + tenant + "/stream", deadline);
+            expect("/note/all/" + tenant + "/stream", deadline);
+            expect("/stats/" + tenant, deadline);
+        }
+    }
+
+    private void expect(final String path, final long deadline)
+    {
+        var status = send(path, deadline);
+
+        if (status >= 400)
+        {
+            throw new IllegalStateException("GET " + path + " answered " + status);
+        }
+    }
+
+    // the status once the body was read, so the connection is free for the next request; waits at most until the
+    // deadline, so a slow request cannot hold readiness back past the time budget
+    private int send(final String path, final long deadline)
+    {
+        var reply = Promise.<Integer>promise();
+
+        // built on the event loop, so the body handler is set before the response can arrive
+        context.runOnContext(ignored -> client.request(HttpMethod.GET, path).compose(request -> request.send())
+                .compose(response -> response.body().map(body -> response.statusCode())).onComplete(reply));
+
+        try
+        {
+            var remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            return reply.future().toCompletionStage().toCompletableFuture()
+                    .get(Math.max(0, Math.min(REQUEST_TIMEOUT_MILLIS, remaining)), TimeUnit.MILLISECONDS);
+
+        } catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during GET " + path, e);
+        } catch (final ExecutionException | TimeoutException e)
+        {
+            throw new IllegalStateException("GET " + path + " failed", e);
+        }
+    }
+}
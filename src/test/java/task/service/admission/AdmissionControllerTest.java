@@ -0,0 +1,94 @@
+package task.service.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControllerTest
+{
+    private AdmissionController controller;
+
+    @BeforeEach
+    void setup()
+    {
+        controller = new AdmissionController();
+        controller.enabled = true;
+        controller.maxConcurrentReads = 1;
+        controller.maxConcurrentWrites = 1;
+        controller.maxConcurrentPerCaller = 1;
+        controller.maxQueueWait = Duration.ofMillis(10);
+        controller.init();
+    }
+
+    @Test
+    void admit_ShouldRejectCallerOverLimit()
+    {
+        // Arrange
+        controller.admit(AdmissionGroup.READ, "client-1");
+
+        // Act
+        var decision = controller.admit(AdmissionGroup.WRITE, "client-1");
+
+        // Assert
+        assertEquals(AdmissionController.Decision.CALLER_LIMIT, decision);
+        assertEquals(AdmissionController.Decision.ADMITTED, controller.admit(AdmissionGroup.WRITE, "client-2"));
+    }
+
+    @Test
+    void admit_ShouldShedWhenGroupIsFull()
+    {
+        // Arrange
+        controller.admit(AdmissionGroup.READ, "client-1");
+
+        // Act
+        var decision = controller.admit(AdmissionGroup.READ, "client-2");
+
+        // Assert
+        assertEquals(AdmissionController.Decision.OVERLOADED, decision);
+        assertEquals(AdmissionController.Decision.ADMITTED, controller.admit(AdmissionGroup.WRITE, "client-2"));
+    }
+
+    @Test
+    void release_ShouldFreeGroupAndCallerSlots()
+    {
+        // Arrange
+        controller.admit(AdmissionGroup.READ, "client-1");
+
+        // Act
+        controller.release(AdmissionGroup.READ, "client-1");
+
+        // Assert
+        assertEquals(AdmissionController.Decision.ADMITTED, controller.admit(AdmissionGroup.READ, "client-1"));
+    }
+
+    @Test
+    void admit_ShouldNotLimitUnknownCaller()
+    {
+        // Arrange
+        controller.admit(AdmissionGroup.READ, null);
+
+        // Act
+        var decision = controller.admit(AdmissionGroup.WRITE, null);
+
+        // Assert
+        assertEquals(AdmissionController.Decision.ADMITTED, decision);
+        assertEquals(AdmissionController.Decision.OVERLOADED, controller.admit(AdmissionGroup.WRITE, null));
+    }
+
+    @Test
+    void admit_ShouldAdmitEverythingWhenDisabled()
+    {
+        // Arrange
+        controller = new AdmissionController();
+        controller.init();
+
+        // Act & Assert
+        for (var i = 0; i < 10; i++)
+        {
+            assertEquals(AdmissionController.Decision.ADMITTED, controller.admit(AdmissionGroup.READ, "client-1"));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package task.service.admission;
+
+import jakarta.interceptor.InvocationContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import task.service.models.payloads.NotePayload;
+import task.service.models.payloads.TaskPayload;
+import task.service.resources.NoteResource;
+import task.service.resources.TaskResource;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AdmissionInterceptorTest
+{
+    private AdmissionController controller;
+    private AdmissionInterceptor interceptor;
+
+    @BeforeEach
+    void setup()
+    {
+        controller = new AdmissionController();
+        controller.enabled = true;
+        controller.maxConcurrentReads = 10;
+        controller.maxConcurrentWrites = 10;
+        controller.maxConcurrentPerCaller = 1;
+        controller.maxQueueWait = Duration.ofMillis(10);
+        controller.init();
+
+        interceptor = new AdmissionInterceptor();
+        interceptor.controller = controller;
+        interceptor.headers = mock(HttpHeaders.class);
+        interceptor.securityContext = mock(SecurityContext.class);
+        interceptor.callerHeader = Optional.of("X-Caller-Id");
+        interceptor.retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Test
+    void admit_ShouldApplyCallerLimitToTaskUpdates() throws Exception
+    {
+        // Arrange
+        when(interceptor.headers.getHeaderString("X-Caller-Id")).thenReturn("client-1");
+        controller.admit(AdmissionGroup.WRITE, "client-1");
+        var context = call(TaskResource.class.getMethod("update", String.class, TaskPayload.class), "task-1");
+
+        // Act
+        var response = (Response) interceptor.admit(context);
+
+        // Assert
+        assertEquals(Response.Status.TOO_MANY_REQUESTS.getStatusCode(), response.getStatus());
+        assertEquals("1", response.getHeaderString(HttpHeaders.RETRY_AFTER));
+        verify(context, never()).proceed();
+    }
+
+    @Test
+    void admit_ShouldApplyCallerLimitToNoteDeletes() throws Exception
+    {
+        // Arrange
+        when(interceptor.headers.getHeaderString("X-Caller-Id")).thenReturn("client-1");
+        controller.admit(AdmissionGroup.READ, "client-1");
+        var context = call(NoteResource.class.getMethod("delete", String.class), "note-1");
+
+        // Act
+        var response = (Response) interceptor.admit(context);
+
+        // Assert
+        assertEquals(Response.Status.TOO_MANY_REQUESTS.getStatusCode(), response.getStatus());
+        verify(context, never()).proceed();
+    }
+
+    @Test
+    void admit_ShouldReleaseCallerAfterDelete() throws Exception
+    {
+        // Arrange
+        when(interceptor.headers.getHeaderString("X-Caller-Id")).thenReturn("client-1");
+        var context = call(TaskResource.class.getMethod("delete", String.class), "task-1");
+        when(context.proceed()).thenReturn(Response.ok().build());
+
+        // Act
+        interceptor.admit(context);
+
+        // Assert
+        verify(context, times(1)).proceed();
+        assertEquals(AdmissionController.Decision.ADMITTED, controller.admit(AdmissionGroup.WRITE, "client-1"));
+    }
+
+    @Test
+    void admit_ShouldPreferAuthenticatedPrincipal() throws Exception
+    {
+        // Arrange
+        when(interceptor.securityContext.getUserPrincipal()).thenReturn(() -> "client-2");
+        when(interceptor.headers.getHeaderString("X-Caller-Id")).thenReturn("client-1");
+        controller.admit(AdmissionGroup.WRITE, "client-1");
+        var context = call(NoteResource.class.getMethod("update", String.class, NotePayload.class), "note-1");
+        when(context.proceed()).thenReturn(Response.ok().build());
+
+        // Act
+        var response = (Response) interceptor.admit(context);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+    }
+
+    @Test
+    void admit_ShouldNameCallerByUserUidOfPathWithoutHeader() throws Exception
+    {
+        // Arrange
+        controller.admit(AdmissionGroup.READ, "user-1");
+        var context = call(TaskResource.class.getMethod("create", String.class, TaskPayload.class), "user-1",
+                new TaskPayload());
+
+        // Act
+        var response = (Response) interceptor.admit(context);
+
+        // Assert
+        assertEquals(Response.Status.TOO_MANY_REQUESTS.getStatusCode(), response.getStatus());
+        verify(context, never()).proceed();
+    }
+
+    @Test
+    void admit_ShouldIgnoreCallerHeaderUnlessConfigured() throws Exception
+    {
+        // Arrange
+        interceptor.callerHeader = Optional.empty();
+        when(interceptor.headers.getHeaderString("X-Caller-Id")).thenReturn("client-rotated");
+        controller.admit(AdmissionGroup.WRITE, "user-1");
+        var context = call(NoteResource.class.getMethod("create", String.class, NotePayload.class), "user-1",
+                new NotePayload());
+
+        // Act
+        var response = (Response) interceptor.admit(context);
+
+        // Assert
+        assertEquals(Response.Status.TOO_MANY_REQUESTS.getStatusCode(), response.getStatus());
+        verify(context, never()).proceed();
+    }
+
+    @Test
+    void admit_ShouldOnlyApplyGroupLimitToUnknownCaller() throws Exception
+    {
+        // Arrange
+        // behind a proxy every unknown caller would share one address, they must not share one caller limit
+        interceptor.callerHeader = Optional.empty();
+        controller.admit(AdmissionGroup.WRITE, null);
+        var context = call(TaskResource.class.getMethod("delete", String.class), "task-1");
+        when(context.proceed()).thenReturn(Response.ok().build());
+
+        // Act
+        var response = (Response) interceptor.admit(context);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        verify(context, times(1)).proceed();
+    }
+
+    private static InvocationContext call(final Method method, final Object... arguments)
+    {
+        var context = mock(InvocationContext.class);
+        when(context.getMethod()).thenReturn(method);
+        when(context.getParameters()).thenReturn(arguments);
+        return context;
+    }
+}
@@ -0,0 +1,154 @@
+package task.service.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import task.service.events.ItemsChangedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserListCacheTest
+{
+    private UserListCache listCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup()
+    {
+        listCache = new UserListCache();
+        listCache.enabled = true;
+        listCache.maxCachedItems = 1000;
+        listCache.expireAfterWrite = Duration.ofMinutes(1);
+        listCache.init();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndServeFromCache()
+    {
+        // Act
+        var first = listCache.get("user-123", ListKind.ALL_TASKS, this::load);
+        var second = listCache.get("user-123", ListKind.ALL_TASKS, this::load);
+
+        // Assert
+        assertEquals(List.of("item"), first);
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, listCache.stats().hitCount());
+        assertEquals(1, listCache.stats().missCount());
+    }
+
+    @Test
+    void get_ShouldReloadListCachedBeforeWriteOfAnotherReplica()
+    {
+        // Arrange
+        listCache.get("user-123", ListKind.ALL_TASKS, new ListRevision(3, 1000L), this::load);
+
+        // Act
+        // another replica wrote, so the items moved on without this cache being invalidated
+        var afterWrite = listCache.get("user-123", ListKind.ALL_TASKS, new ListRevision(3, 2000L), this::load);
+        var cached = listCache.get("user-123", ListKind.ALL_TASKS, new ListRevision(3, 2000L), this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(new ListRevision(3, 2000L), afterWrite.revision());
+        assertEquals(new ListRevision(3, 2000L), cached.revision());
+    }
+
+    @Test
+    void get_ShouldReloadListCachedAtAnyOtherRevision()
+    {
+        // Arrange
+        listCache.get("user-123", ListKind.ALL_NOTES, new ListRevision(5, 2000L), this::load);
+
+        // Act
+        // a delete purged by the TTL index lowers the count, the revision is not ordered
+        var reloaded = listCache.get("user-123", ListKind.ALL_NOTES, new ListRevision(4, 2000L), this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(new ListRevision(4, 2000L), reloaded.revision());
+    }
+
+    @Test
+    void invalidateTasks_ShouldOnlyDropTaskListsOfThatUser()
+    {
+        // Arrange
+        listCache.get("user-123", ListKind.COMPLETED_TASKS, this::load);
+        listCache.get("user-123", ListKind.ALL_NOTES, this::load);
+        listCache.get("user-456", ListKind.COMPLETED_TASKS, this::load);
+
+        // Act
+        listCache.invalidateTasks("user-123");
+        listCache.get("user-123", ListKind.COMPLETED_TASKS, this::load);
+        listCache.get("user-123", ListKind.ALL_NOTES, this::load);
+        listCache.get("user-456", ListKind.COMPLETED_TASKS, this::load);
+
+        // Assert
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void onItemsChanged_ShouldDropListsOfEveryUserWhenOwnerIsUnknown()
+    {
+        // Arrange
+        listCache.get("user-123", ListKind.ALL_TASKS, this::load);
+        listCache.get("user-456", ListKind.PRIORITY_TASKS, this::load);
+        listCache.get("user-456", ListKind.ALL_NOTES, this::load);
+
+        // Act
+        listCache.onItemsChanged(new ItemsChangedEvent(ItemsChangedEvent.TASKS, null));
+
+        // Assert
+        assertEquals(1, listCache.size());
+    }
+
+    @Test
+    void get_ShouldNotCacheFailedLoads()
+    {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> listCache.get("user-123", ListKind.ALL_NOTES, () -> {
+            throw new IllegalStateException("Mongo unavailable");
+        }));
+        listCache.get("user-123", ListKind.ALL_NOTES, this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ShouldNotBlockLaterCallersAfterLoaderError()
+    {
+        // Act & Assert
+        assertThrows(StackOverflowError.class, () -> listCache.get("user-123", ListKind.ALL_NOTES, () -> {
+            throw new StackOverflowError();
+        }));
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> listCache.get("user-123", ListKind.ALL_NOTES, this::load));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ShouldPassThroughWhenDisabled()
+    {
+        // Arrange
+        var disabled = new UserListCache();
+
+        // Act
+        disabled.get("user-123", ListKind.ALL_TASKS, this::load);
+        disabled.get("user-123", ListKind.ALL_TASKS, this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertFalse(disabled.isEnabled());
+    }
+
+    private List<String> load()
+    {
+        loads.incrementAndGet();
+        return List.of("item");
+    }
+}
@@ -0,0 +1,56 @@
+package task.service.codecs;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import task.service.models.Note;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NoteCodecTest
+{
+    private final NoteCodec codec = new NoteCodec();
+
+    @Test
+    void encodeAndDecode_ShouldKeepEveryField()
+    {
+        // Arrange
+        var note = new Note();
+        note.setId(new ObjectId().toHexString());
+        note.setUid("note-123");
+        note.setUserUid("user-123");
+        note.setType("note");
+        note.setTitle("Title");
+        note.setText("Text");
+        note.setCreatedAt(1000L);
+        note.setUpdatedAt(2000L);
+        note.setDeletedAt(new Date(3000L));
+
+        var document = new BsonDocument();
+
+        // Act
+        codec.encode(new BsonDocumentWriter(document), note, EncoderContext.builder().build());
+        var decoded = codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+
+        // Assert
+        assertEquals(note, decoded);
+        assertTrue(document.get("deletedAt").isDateTime());
+    }
+
+    @Test
+    void getDocumentId_ShouldFailWithoutId()
+    {
+        // Arrange
+        var note = new Note();
+
+        // Act & Assert
+        assertFalse(codec.documentHasId(note));
+        assertThrows(IllegalStateException.class, () -> codec.getDocumentId(note));
+    }
+}
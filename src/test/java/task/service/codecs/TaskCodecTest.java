@@ -0,0 +1,110 @@
+package task.service.codecs;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import task.service.models.Task;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskCodecTest
+{
+    private final TaskCodec codec = new TaskCodec();
+
+    @Test
+    void encodeAndDecode_ShouldKeepEveryField()
+    {
+        // Arrange
+        var task = new Task();
+        task.setId(new ObjectId().toHexString());
+        task.setUid("task-123");
+        task.setUserUid("user-123");
+        task.setType("task");
+        task.setTitle("Title");
+        task.setDescription("Description");
+        task.setPriority(true);
+        task.setCompleted(true);
+        task.setCreatedAt(1000L);
+        task.setUpdatedAt(2000L);
+        task.setCompletedAt(1500L);
+        task.setDeletedAt(new Date(3000L));
+
+        // Act
+        var decoded = decode(encode(task));
+
+        // Assert
+        assertEquals(task, decoded);
+    }
+
+    @Test
+    void encode_ShouldWriteIdAsObjectIdAndSkipNulls()
+    {
+        // Arrange
+        var task = new Task();
+        task.setId(new ObjectId().toHexString());
+        task.setUid("task-123");
+
+        // Act
+        var document = encode(task);
+
+        // Assert
+        assertTrue(document.get("_id").isObjectId());
+        assertFalse(document.containsKey("completedAt"));
+        assertFalse(document.containsKey("deletedAt"));
+    }
+
+    @Test
+    void decode_ShouldSkipUnknownFieldsAndAcceptOtherNumberTypes()
+    {
+        // Arrange
+        var document = new BsonDocument("uid", new BsonString("task-123")).append("legacy", new BsonString("x"))
+                .append("createdAt", new BsonInt32(1000)).append("completedAt", BsonNull.VALUE);
+
+        // Act
+        var task = decode(document);
+
+        // Assert
+        assertEquals("task-123", task.getUid());
+        assertEquals(1000L, task.getCreatedAt());
+        assertNull(task.getCompletedAt());
+        assertFalse(task.isCompleted());
+    }
+
+    @Test
+    void generateIdIfAbsentFromDocument_ShouldOnlySetMissingId()
+    {
+        // Arrange
+        var task = new Task();
+
+        // Act
+        codec.generateIdIfAbsentFromDocument(task);
+        var id = task.getId();
+        codec.generateIdIfAbsentFromDocument(task);
+
+        // Assert
+        assertTrue(ObjectId.isValid(id));
+        assertEquals(id, task.getId());
+        assertEquals(new ObjectId(id), codec.getDocumentId(task).asObjectId().getValue());
+    }
+
+    private BsonDocument encode(final Task task)
+    {
+        var document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), task, EncoderContext.builder().build());
+        return document;
+    }
+
+    private Task decode(final BsonDocument document)
+    {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+}
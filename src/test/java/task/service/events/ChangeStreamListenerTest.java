@@ -0,0 +1,149 @@
+package task.service.events;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import jakarta.enterprise.event.Event;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+public class ChangeStreamListenerTest
+{
+    private static final BsonDocument STORED_TOKEN = new BsonDocument("_data", new BsonString("stored"));
+    private static final BsonDocument NEXT_TOKEN = new BsonDocument("_data", new BsonString("next"));
+
+    private ChangeStreamListener listener;
+
+    @Mock
+    MongoClient mongoClient;
+
+    @Mock
+    MongoDatabase database;
+
+    @Mock
+    MongoCollection<Document> collection;
+
+    @Mock
+    ChangeStreamIterable<Document> stream;
+
+    @Mock
+    MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    @Mock
+    ResumeTokenStore tokenStore;
+
+    @Mock
+    Event<ItemsChangedEvent> events;
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setup()
+    {
+        mocks = MockitoAnnotations.openMocks(this);
+        listener = new ChangeStreamListener();
+        listener.mongoClient = mongoClient;
+        listener.tokenStore = tokenStore;
+        listener.events = events;
+        listener.database = "tasks-db";
+        listener.tokenSaveInterval = Duration.ZERO;
+        listener.retryDelay = Duration.ZERO;
+        listener.running = true;
+
+        when(mongoClient.getDatabase("tasks-db")).thenReturn(database);
+        when(database.getCollection(ItemsChangedEvent.TASKS)).thenReturn(collection);
+        when(collection.watch(anyList())).thenReturn(stream);
+        when(stream.fullDocument(any())).thenReturn(stream);
+        when(stream.maxAwaitTime(anyLong(), any())).thenReturn(stream);
+        when(stream.resumeAfter(any())).thenReturn(stream);
+        when(cursor.getResumeToken()).thenReturn(NEXT_TOKEN);
+
+        // a single poll per opened cursor, then the listener is stopped
+        when(cursor.tryNext()).thenAnswer(invocation -> {
+            listener.running = false;
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception
+    {
+        mocks.close();
+    }
+
+    @Test
+    void follow_ShouldResumeAfterStoredTokenAndSaveNewPosition()
+    {
+        // Arrange
+        when(tokenStore.load(ItemsChangedEvent.TASKS)).thenReturn(STORED_TOKEN);
+        when(stream.cursor()).thenReturn(cursor);
+
+        // Act
+        listener.follow(ItemsChangedEvent.TASKS);
+
+        // Assert
+        verify(stream, times(1)).resumeAfter(STORED_TOKEN);
+        verify(tokenStore, times(1)).save(ItemsChangedEvent.TASKS, NEXT_TOKEN);
+        verify(tokenStore, never()).clear(anyString());
+        verify(cursor, times(1)).close();
+    }
+
+    @Test
+    void follow_ShouldDropDerivedStateAndStartOverWhenHistoryIsLost()
+    {
+        // Arrange
+        when(tokenStore.load(ItemsChangedEvent.TASKS)).thenReturn(STORED_TOKEN).thenReturn(null);
+        when(stream.cursor()).thenThrow(historyLost()).thenReturn(cursor);
+
+        // Act
+        listener.follow(ItemsChangedEvent.TASKS);
+
+        // Assert
+        InOrder order = inOrder(events, tokenStore);
+        order.verify(events).fire(new ItemsChangedEvent(ItemsChangedEvent.TASKS, null));
+        order.verify(tokenStore).clear(ItemsChangedEvent.TASKS);
+        verify(stream, times(1)).resumeAfter(STORED_TOKEN);
+        verify(stream, times(2)).cursor();
+    }
+
+    @Test
+    void follow_ShouldKeepFollowingWhenObserverFails()
+    {
+        // Arrange
+        when(stream.cursor()).thenThrow(historyLost()).thenThrow(historyLost()).thenReturn(cursor);
+        doThrow(new IllegalStateException("observer failed")).doNothing().when(events).fire(any());
+
+        // Act
+        listener.follow(ItemsChangedEvent.TASKS);
+
+        // Assert
+        // the token is kept after the failed notification, so it is sent again before starting over
+        verify(events, times(2)).fire(new ItemsChangedEvent(ItemsChangedEvent.TASKS, null));
+        verify(tokenStore, times(1)).clear(ItemsChangedEvent.TASKS);
+        verify(stream, times(3)).cursor();
+    }
+
+    private static MongoCommandException historyLost()
+    {
+        var response = new BsonDocument("ok", new BsonInt32(0)).append("code", new BsonInt32(286))
+                .append("errmsg", new BsonString("Resume of change stream was not possible"));
+        return new MongoCommandException(response, new ServerAddress());
+    }
+}
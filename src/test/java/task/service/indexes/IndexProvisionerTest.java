@@ -0,0 +1,137 @@
+package task.service.indexes;
+
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexModel;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class IndexProvisionerTest
+{
+    private static final Duration RETENTION = Duration.ofDays(30);
+
+    private IndexProvisioner provisioner;
+    private MongoDatabase database;
+    private MongoCollection<Document> collection;
+    private List<Document> present;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup()
+    {
+        database = mock(MongoDatabase.class);
+        collection = (MongoCollection<Document>) mock(MongoCollection.class);
+        present = new ArrayList<>();
+
+        var mongoClient = mock(MongoClient.class);
+        var listing = (ListIndexesIterable<Document>) mock(ListIndexesIterable.class);
+        when(mongoClient.getDatabase("tasks-db")).thenReturn(database);
+        when(database.getCollection(anyString())).thenReturn(collection);
+        when(collection.listIndexes()).thenReturn(listing);
+        when(listing.into(any())).thenAnswer(invocation -> {
+            var target = invocation.<Collection<Document>>getArgument(0);
+            target.addAll(present);
+            return target;
+        });
+
+        provisioner = new IndexProvisioner();
+        provisioner.mongoClient = mongoClient;
+        provisioner.database = "tasks-db";
+        provisioner.deleteRetention = RETENTION;
+        provisioner.retryDelay = Duration.ZERO;
+    }
+
+    @Test
+    void provision_ShouldCreateMissingPurgeIndex()
+    {
+        // Act
+        provisioner.provision();
+
+        // Assert
+        // the required indexes and the purge index, for tasks and for notes
+        verify(collection, times(2)).createIndexes(argThat(indexes -> indexes.size() > 1));
+        verify(collection, times(2)).createIndexes(argThat(IndexProvisionerTest::isPurgeIndex));
+        verify(collection, never()).dropIndex(anyString());
+    }
+
+    @Test
+    void provision_ShouldKeepPurgeIndexWithSameExpiry()
+    {
+        // Arrange
+        present.add(purgeIndex().append("expireAfterSeconds", RETENTION.toSeconds()));
+
+        // Act
+        provisioner.provision();
+
+        // Assert
+        verify(collection, never()).createIndexes(argThat(IndexProvisionerTest::isPurgeIndex));
+        verify(database, never()).runCommand(any());
+    }
+
+    @Test
+    void provision_ShouldChangeExpiryInPlace()
+    {
+        // Arrange
+        present.add(purgeIndex().append("expireAfterSeconds", 60));
+
+        // Act
+        provisioner.provision();
+
+        // Assert
+        verify(database, times(2)).runCommand(argThat(command -> ((Document) command).get("index", Document.class)
+                .get("expireAfterSeconds", Number.class).longValue() == RETENTION.toSeconds()));
+        verify(collection, never()).dropIndex(anyString());
+    }
+
+    @Test
+    void provision_ShouldReplaceIndexOfSameNameWithoutExpiry()
+    {
+        // Arrange
+        present.add(purgeIndex());
+
+        // Act
+        provisioner.provision();
+
+        // Assert
+        verify(collection, times(2)).dropIndex(RequiredIndexes.PURGE_INDEX_NAME);
+        verify(collection, times(2)).createIndexes(argThat(IndexProvisionerTest::isPurgeIndex));
+        verify(database, never()).runCommand(any());
+    }
+
+    @Test
+    void provision_ShouldRetryUntilEveryIndexExists()
+    {
+        // Arrange
+        present.add(purgeIndex().append("expireAfterSeconds", RETENTION.toSeconds()));
+        when(collection.createIndexes(anyList())).thenThrow(new MongoTimeoutException("no server"))
+                .thenThrow(new NullPointerException()).thenReturn(List.of());
+
+        // Act
+        provisioner.provision();
+
+        // Assert
+        // both collections fail in the first round and succeed in the second
+        verify(collection, times(4)).createIndexes(anyList());
+    }
+
+    private static boolean isPurgeIndex(final List<IndexModel> indexes)
+    {
+        return indexes.size() == 1 && RequiredIndexes.PURGE_INDEX_NAME.equals(indexes.get(0).getOptions().getName());
+    }
+
+    private static Document purgeIndex()
+    {
+        return new Document("name", RequiredIndexes.PURGE_INDEX_NAME).append("key", new Document("deletedAt", 1));
+    }
+}
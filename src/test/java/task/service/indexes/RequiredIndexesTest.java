@@ -0,0 +1,158 @@
+package task.service.indexes;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexModel;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RequiredIndexesTest
+{
+    private MongoDatabase database;
+    private Map<String, List<BsonDocument>> present;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup()
+    {
+        database = mock(MongoDatabase.class);
+        present = new HashMap<>();
+
+        for (var collection : RequiredIndexes.BY_COLLECTION.keySet())
+        {
+            var indexes = new ArrayList<BsonDocument>();
+            present.put(collection, indexes);
+
+            var mongoCollection = (MongoCollection<Document>) mock(MongoCollection.class);
+            var listing = (ListIndexesIterable<BsonDocument>) mock(ListIndexesIterable.class);
+            when(database.getCollection(collection)).thenReturn(mongoCollection);
+            when(mongoCollection.listIndexes(BsonDocument.class)).thenReturn(listing);
+            doAnswer(invocation -> {
+                indexes.forEach(invocation.<Consumer<BsonDocument>>getArgument(0));
+                return null;
+            }).when(listing).forEach(any());
+        }
+    }
+
+    @Test
+    void missing_ShouldReportNothingWhenEveryIndexExists()
+    {
+        // Arrange
+        createAll();
+
+        // Act
+        var missing = RequiredIndexes.missing(database);
+
+        // Assert
+        assertEquals(List.of(), missing);
+    }
+
+    @Test
+    void missing_ShouldReportEveryIndexOfEmptyDatabase()
+    {
+        // Act
+        var missing = RequiredIndexes.missing(database);
+
+        // Assert
+        assertTrue(missing.contains("tasks.uid_unique"));
+        assertTrue(missing.contains("notes.userUid_updatedAt"));
+        assertTrue(missing.contains("notes." + RequiredIndexes.PURGE_INDEX_NAME));
+        assertEquals(RequiredIndexes.BY_COLLECTION.values().stream().mapToInt(List::size).sum() + 2, missing.size());
+    }
+
+    @Test
+    void missing_ShouldReportPurgeIndexWithoutExpiry()
+    {
+        // Arrange
+        createAll();
+        present.get("notes").removeIf(index -> index.containsKey("expireAfterSeconds"));
+        present.get("notes").add(new BsonDocument("name", new BsonString("deletedAt_1"))
+                .append("key", new BsonDocument("deletedAt", new BsonInt32(1))));
+
+        // Act
+        var missing = RequiredIndexes.missing(database);
+
+        // Assert
+        assertEquals(List.of("notes." + RequiredIndexes.PURGE_INDEX_NAME), missing);
+    }
+
+    @Test
+    void missing_ShouldAcceptKeysStoredAsDoubles()
+    {
+        // Arrange
+        createAll();
+        present.get("tasks").removeIf(index -> "uid_unique".equals(index.getString("name").getValue()));
+        present.get("tasks").add(new BsonDocument("name", new BsonString("uid_1"))
+                .append("key", new BsonDocument("uid", new BsonDouble(1.0))).append("unique", BsonBoolean.TRUE));
+
+        // Act
+        var missing = RequiredIndexes.missing(database);
+
+        // Assert
+        assertEquals(List.of(), missing);
+    }
+
+    @Test
+    void missing_ShouldNotTakeNonUniqueIndexForUniqueOne()
+    {
+        // Arrange
+        createAll();
+        present.get("tasks").removeIf(index -> "uid_unique".equals(index.getString("name").getValue()));
+        present.get("tasks").add(new BsonDocument("name", new BsonString("uid_1"))
+                .append("key", new BsonDocument("uid", new BsonInt32(1))));
+
+        // Act
+        var missing = RequiredIndexes.missing(database);
+
+        // Assert
+        assertEquals(List.of("tasks.uid_unique"), missing);
+    }
+
+    // lists every required index, the purge index with the configured retention, as the server would
+    private void createAll()
+    {
+        RequiredIndexes.BY_COLLECTION.forEach((collection, indexes) -> {
+            indexes.forEach(index -> present.get(collection).add(listed(index)));
+            present.get(collection).add(listed(RequiredIndexes.purgeIndex(Duration.ofDays(30))));
+        });
+    }
+
+    private static BsonDocument listed(final IndexModel index)
+    {
+        var options = index.getOptions();
+        var listed = new BsonDocument("name", new BsonString(options.getName())).append("key",
+                index.getKeys().toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry()));
+
+        if (options.isUnique())
+        {
+            listed.append("unique", BsonBoolean.TRUE);
+        }
+
+        if (options.getExpireAfter(TimeUnit.SECONDS) != null)
+        {
+            listed.append("expireAfterSeconds", new BsonInt64(options.getExpireAfter(TimeUnit.SECONDS)));
+        }
+
+        return listed;
+    }
+}
@@ -0,0 +1,99 @@
+package task.service.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import task.service.models.Note;
+import task.service.models.ResponseEnvelope;
+import task.service.models.Task;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseJsonModuleTest
+{
+    // bean serialization as before the module, the wire format must not change
+    private final ObjectMapper beanMapper = new ObjectMapper();
+    private final ObjectMapper mapper = JsonCustomizer.configure(new ObjectMapper());
+
+    @Test
+    void success_ShouldMatchBeanSerializationOfTasks() throws Exception
+    {
+        // Arrange
+        var task = new Task();
+        task.setId("65f0c0ffee0000000000abcd");
+        task.setUid("task-123");
+        task.setUserUid("user-123");
+        task.setTitle("Title \"quoted\"");
+        task.setPriority(true);
+        task.setCreatedAt(1000L);
+        task.setDeletedAt(new Date());
+        var tasks = List.of(task, new Task());
+
+        // Act
+        var json = mapper.writeValueAsString(ResponseEnvelope.success(200, tasks));
+
+        // Assert
+        var expected = beanTree(Map.of("status", "success", "code", 200, "data", tasks));
+        assertEquals(expected, mapper.readTree(json));
+        assertFalse(json.contains("deletedAt"));
+        assertFalse(json.contains("65f0c0ffee0000000000abcd"));
+    }
+
+    @Test
+    void success_ShouldMatchBeanSerializationOfNotes() throws Exception
+    {
+        // Arrange
+        var note = new Note();
+        note.setUid("note-123");
+        note.setText("Text");
+        note.setUpdatedAt(2000L);
+
+        // Act
+        var json = mapper.writeValueAsString(ResponseEnvelope.success(201, note));
+
+        // Assert
+        var expected = beanTree(Map.of("status", "success", "code", 201, "data", note));
+        assertEquals(expected, mapper.readTree(json));
+    }
+
+    @Test
+    void paged_ShouldWriteNullCursor() throws Exception
+    {
+        // Act
+        var json = mapper.readTree(mapper.writeValueAsString(ResponseEnvelope.paged(200, List.of(), null)));
+
+        // Assert
+        assertTrue(json.has("nextCursor"));
+        assertTrue(json.get("nextCursor").isNull());
+        assertEquals(0, json.get("data").size());
+    }
+
+    @Test
+    void error_ShouldWriteMessageWithoutData() throws Exception
+    {
+        // Arrange
+        var body = new HashMap<String, Object>();
+        body.put("status", "error");
+        body.put("code", Response.Status.NOT_FOUND.getStatusCode());
+        body.put("message", "Task not found");
+
+        // Act
+        var json = mapper.writeValueAsString(ResponseEnvelope.error(404, "Task not found"));
+
+        // Assert
+        assertEquals(beanTree(body), mapper.readTree(json));
+    }
+
+    // through text, so numbers are parsed the same way on both sides: valueToTree keeps a Long as LongNode, readTree
+    // makes it an IntNode when it fits
+    private JsonNode beanTree(final Object body) throws Exception
+    {
+        return beanMapper.readTree(beanMapper.writeValueAsString(body));
+    }
+}
@@ -0,0 +1,37 @@
+package task.service.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogSamplerTest
+{
+    @Test
+    void tryAcquire_ShouldLimitPerSecondAndResetInNextSecond()
+    {
+        // Arrange
+        var sampler = new LogSampler();
+
+        // Act
+        var first = sampler.tryAcquire(2, 1_000L);
+        var second = sampler.tryAcquire(2, 1_500L);
+        var third = sampler.tryAcquire(2, 1_999L);
+        var nextSecond = sampler.tryAcquire(2, 2_000L);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(nextSecond);
+    }
+
+    @Test
+    void tryAcquire_ShouldRejectWhenDisabled()
+    {
+        // Arrange
+        var sampler = new LogSampler();
+
+        // Act & Assert
+        assertFalse(sampler.tryAcquire(0, 1_000L));
+    }
+}
@@ -0,0 +1,40 @@
+package task.service.metrics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PoolCheckoutMetricsTest
+{
+    @Test
+    void listener_ShouldRecordCheckoutWaitPerResult()
+    {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var listener = PoolCheckoutMetrics.listener(registry);
+        var serverId = new ServerId(new ClusterId(), new ServerAddress());
+
+        // Act
+        listener.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(serverId), 1,
+                TimeUnit.MILLISECONDS.toNanos(3)));
+        listener.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(serverId, 2,
+                ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.MILLISECONDS.toNanos(7)));
+
+        // Assert
+        var checkedOut = registry.get("mongodb.driver.pool.checkout").tag("result", "success").timer();
+        var failed = registry.get("mongodb.driver.pool.checkout").tag("result", "failed").timer();
+        assertEquals(1, checkedOut.count());
+        assertEquals(3, checkedOut.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, failed.count());
+        assertEquals(7, failed.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+}
@@ -0,0 +1,52 @@
+package task.service.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCursorTest
+{
+    @Test
+    void decode_ShouldReturnEncodedPosition()
+    {
+        // Arrange
+        var cursor = new PageCursor(1001L, "task-1");
+
+        // Act
+        var decoded = PageCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void decode_ShouldKeepMissingCreatedAt()
+    {
+        // Arrange
+        var cursor = new PageCursor(null, "task-1");
+
+        // Act
+        var decoded = PageCursor.decode(cursor.encode());
+
+        // Assert
+        assertNull(decoded.getCreatedAt());
+        assertEquals("task-1", decoded.getUid());
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedTokens()
+    {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(token("1001|")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(token("null|task-1")));
+    }
+
+    private static String token(final String raw)
+    {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,108 @@
+package task.service.repos;
+
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class StatsRepositoryTest
+{
+    private StatsRepository repository;
+    private AggregateIterable<Document> aggregation;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup()
+    {
+        var mongoClient = mock(MongoClient.class);
+        var database = mock(MongoDatabase.class);
+        var collection = (MongoCollection<Document>) mock(MongoCollection.class);
+        aggregation = (AggregateIterable<Document>) mock(AggregateIterable.class);
+        when(mongoClient.getDatabase("tasks-db")).thenReturn(database);
+        when(database.getCollection(StatsRepository.TASKS_COLLECTION)).thenReturn(collection);
+        when(collection.aggregate(anyList(), eq(Document.class))).thenReturn(aggregation);
+        when(aggregation.maxTime(anyLong(), any())).thenReturn(aggregation);
+
+        repository = new StatsRepository();
+        repository.mongoClient = mongoClient;
+        repository.database = "tasks-db";
+    }
+
+    @Test
+    void aggregateUserStats_ShouldMapMergedRow()
+    {
+        // Arrange
+        when(aggregation.first()).thenReturn(new Document("_id", null).append("tasks", 5).append("completedTasks", 2)
+                .append("priorityTasks", 1).append("notes", 4L));
+
+        // Act
+        var result = repository.aggregateUserStats("user-123");
+
+        // Assert
+        assertEquals(5, result.getTasks());
+        assertEquals(2, result.getCompletedTasks());
+        assertEquals(3, result.getOpenTasks());
+        assertEquals(1, result.getPriorityTasks());
+        assertEquals(4, result.getNotes());
+        verify(aggregation, times(1)).maxTime(TaskRepository.LIST_READ_MAX_TIME_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void aggregateUserStats_ShouldReturnZerosWhenUserHasNoItems()
+    {
+        // Arrange
+        when(aggregation.first()).thenReturn(null);
+
+        // Act
+        var result = repository.aggregateUserStats("user-123");
+
+        // Assert
+        assertEquals(0, result.getTasks());
+        assertEquals(0, result.getOpenTasks());
+        assertEquals(0, result.getNotes());
+    }
+
+    @Test
+    void toUserStats_ShouldCountMissingFieldsAsZero()
+    {
+        // Arrange
+        // a user with notes only, the task branch of the union yields no row
+        var row = new Document("_id", null).append("notes", 2);
+
+        // Act
+        var result = StatsRepository.toUserStats(row);
+
+        // Assert
+        assertEquals(0, result.getTasks());
+        assertEquals(0, result.getCompletedTasks());
+        assertEquals(0, result.getOpenTasks());
+        assertEquals(0, result.getPriorityTasks());
+        assertEquals(2, result.getNotes());
+    }
+
+    @Test
+    void userStatsPipeline_ShouldCountLiveItemsOfUserInBothCollections()
+    {
+        // Act
+        var pipeline = StatsRepository.userStatsPipeline("user-123");
+
+        // Assert
+        var match = new Document("$match", new Document("userUid", "user-123").append("deletedAt", null));
+        assertEquals(match, pipeline.get(0));
+
+        var union = pipeline.stream().filter(stage -> stage.containsKey("$unionWith")).findFirst().orElseThrow()
+                .get("$unionWith", Document.class);
+        assertEquals(StatsRepository.NOTES_COLLECTION, union.getString("coll"));
+        assertEquals(match, union.getList("pipeline", Document.class).get(0));
+        assertEquals(List.of("$group"), List.copyOf(pipeline.get(pipeline.size() - 1).keySet()));
+    }
+}
@@ -0,0 +1,118 @@
+package task.service.resilience;
+
+import jakarta.interceptor.InvocationContext;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+import org.eclipse.microprofile.faulttolerance.exceptions.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import task.service.cache.ListRevision;
+import task.service.cache.RevisionedList;
+import task.service.models.Task;
+import task.service.services.TaskService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class StaleReadFallbackInterceptorTest
+{
+    private StaleReadFallbackInterceptor interceptor;
+
+    @BeforeEach
+    void setup()
+    {
+        var snapshots = new ListSnapshots();
+        snapshots.enabled = true;
+        snapshots.maxItems = 1000;
+        snapshots.maxAge = Duration.ofMinutes(10);
+        snapshots.init();
+
+        interceptor = new StaleReadFallbackInterceptor();
+        interceptor.snapshots = snapshots;
+    }
+
+    @Test
+    void fallback_ShouldServeLastGoodResultWhileCircuitIsOpen() throws Exception
+    {
+        // Arrange
+        var tasks = new RevisionedList<>(List.of(new Task(), new Task()), new ListRevision(3, 1000L));
+        var context = listRead("user-123");
+        when(context.proceed()).thenReturn(tasks).thenThrow(new CircuitBreakerOpenException());
+        interceptor.fallback(context);
+
+        // Act
+        var result = interceptor.fallback(context);
+
+        // Assert
+        assertEquals(tasks, result);
+    }
+
+    @Test
+    void fallback_ShouldServeCopyOfPlainListResult() throws Exception
+    {
+        // Arrange
+        var tasks = new ArrayList<>(List.of(new Task()));
+        var context = mock(InvocationContext.class);
+        when(context.getMethod()).thenReturn(TaskService.class.getMethod("getCompletedTasks", String.class));
+        when(context.getParameters()).thenReturn(new Object[] {"user-123"});
+        when(context.proceed()).thenReturn(tasks).thenThrow(new CircuitBreakerOpenException());
+        interceptor.fallback(context);
+        tasks.add(new Task());
+
+        // Act
+        var result = interceptor.fallback(context);
+
+        // Assert
+        assertEquals(1, ((List<?>) result).size());
+    }
+
+    @Test
+    void fallback_ShouldFailWithoutSnapshot() throws Exception
+    {
+        // Arrange
+        var context = listRead("user-123");
+        when(context.proceed()).thenThrow(new CircuitBreakerOpenException());
+
+        // Act & Assert
+        assertThrows(CircuitBreakerOpenException.class, () -> interceptor.fallback(context));
+    }
+
+    @Test
+    void fallback_ShouldNotServeSnapshotOnTimeout() throws Exception
+    {
+        // Arrange
+        var context = listRead("user-123");
+        when(context.proceed()).thenReturn(new RevisionedList<>(List.of(new Task()), new ListRevision(3, 1000L)))
+                .thenThrow(new TimeoutException());
+        interceptor.fallback(context);
+
+        // Act & Assert
+        assertThrows(TimeoutException.class, () -> interceptor.fallback(context));
+    }
+
+    @Test
+    void fallback_ShouldPassThroughWhenDisabled() throws Exception
+    {
+        // Arrange
+        interceptor.snapshots = new ListSnapshots();
+        interceptor.snapshots.init();
+        var context = listRead("user-123");
+        when(context.proceed()).thenReturn(new RevisionedList<>(List.of(new Task()), new ListRevision(3, 1000L)))
+                .thenThrow(new CircuitBreakerOpenException());
+        interceptor.fallback(context);
+
+        // Act & Assert
+        assertThrows(CircuitBreakerOpenException.class, () -> interceptor.fallback(context));
+    }
+
+    private static InvocationContext listRead(final String userUid) throws Exception
+    {
+        var context = mock(InvocationContext.class);
+        when(context.getMethod()).thenReturn(TaskService.class.getMethod("getAllTasks", String.class, long.class));
+        when(context.getParameters()).thenReturn(new Object[] {userUid, 3L});
+        return context;
+    }
+}
@@ -0,0 +1,32 @@
+package task.service.resilience;
+
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.MongoSocketReadTimeoutException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.ServerAddress;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransientMongoErrorTest
+{
+    private final TransientMongoError transientError = new TransientMongoError();
+
+    @Test
+    void test_ShouldRetryDroppedConnections()
+    {
+        // Act & Assert
+        assertTrue(transientError.test(new MongoSocketReadException("Connection reset", new ServerAddress())));
+    }
+
+    @Test
+    void test_ShouldNotRetryTimeoutsOrOpenCircuits()
+    {
+        // Act & Assert
+        assertFalse(transientError.test(
+                new MongoSocketReadTimeoutException("Read timed out", new ServerAddress(), new RuntimeException())));
+        assertFalse(transientError.test(new MongoTimeoutException("No server chosen")));
+        assertFalse(transientError.test(new CircuitBreakerOpenException()));
+    }
+}
@@ -1,14 +1,20 @@
 package task.service.services;
 
+import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import task.service.cache.UserListCache;
+import task.service.logging.WriteEventLog;
 import task.service.models.Note;
+import task.service.models.NoteSummary;
+import task.service.models.PageCursor;
 import task.service.models.payloads.NotePayload;
 import task.service.repos.NoteRepository;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,6 +36,10 @@ public class NoteServiceTest
         mocks = MockitoAnnotations.openMocks(this);
         noteService = new NoteService();
         noteService.repository = repository;
+        noteService.listCache = new UserListCache(); // not initialized, so it passes every read through
+        noteService.eventLog = new WriteEventLog(); // payload sampling off, the config default is not injected
+        noteService.syncOverlap = Duration.ofSeconds(5);
+        noteService.deleteRetention = Duration.ofDays(30);
     }
 
     @AfterEach
@@ -47,13 +57,53 @@ public class NoteServiceTest
         when(repository.findByUserUid(userUid)).thenReturn(notes);
 
         // Act
-        noteService.getAllNotes(userUid);
+        noteService.getAllNotes(userUid, 0);
 
         // Assert
         verify(repository, times(1)).findByUserUid(userUid);
         verify(repository, never()).findByUserUid(argThat(uid -> !uid.equals(userUid)));
     }
 
+    @Test
+    void getNotesPage_ShouldReturnNextCursorWhenMoreItemsExist()
+    {
+        // Arrange
+        var userUid = "user-123";
+        List<Note> notes = new ArrayList<>();
+        for (var i = 0; i < 3; i++)
+        {
+            var note = new Note();
+            note.setUid("note-" + i);
+            note.setCreatedAt(1000L + i);
+            notes.add(note);
+        }
+        when(repository.findPageByUserUid(userUid, null, 3)).thenReturn(notes);
+
+        // Act
+        var page = noteService.getNotesPage(userUid, null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertEquals(new PageCursor(1001L, "note-1"), PageCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getNoteSummaries_ShouldUseProjectionQuery()
+    {
+        // Arrange
+        var userUid = "user-123";
+        List<NoteSummary> summaries = new ArrayList<>();
+        when(repository.findSummariesByUserUid(userUid)).thenReturn(summaries);
+
+        // Act
+        var result = noteService.getNoteSummaries(userUid, 0);
+
+        // Assert
+        assertSame(summaries, result.items());
+        verify(repository, times(1)).findSummariesByUserUid(userUid);
+        verify(repository, never()).findByUserUid(anyString());
+    }
+
     @Test
     void createNote_ShouldPersistAndReturnNote()
     {
@@ -65,13 +115,6 @@ public class NoteServiceTest
 
         doAnswer(invocation -> null).when(repository).persist(any(Note.class));
 
-        when(repository.findByUid(anyString())).thenAnswer(invocation -> {
-            var note = new Note();
-            note.setUid(invocation.getArgument(0));
-            note.setTitle("Test Note");
-            return note;
-        });
-
         // Act
         var createdNote = noteService.createNote(userUid, payload);
 
@@ -81,34 +124,48 @@ public class NoteServiceTest
         assertEquals(userUid, createdNote.getUserUid());
         assertEquals("Test Note", createdNote.getTitle());
         verify(repository, times(1)).persist(any(Note.class));
-        verify(repository, times(1)).findByUid(eq(createdNote.getUid()));
+        verify(repository, never()).findByUid(anyString());
     }
 
     @Test
-    void updateNote_ShouldUpdateExistingNote()
+    void updateNote_ShouldUpdateInSingleRoundTrip()
     {
         // Arrange
         var itemUid = "note-123";
-        var existingNote = new Note();
-        existingNote.setUid(itemUid);
-        existingNote.setTitle("Old title");
-        existingNote.setText("Old text");
+        var updatedNote = new Note();
+        updatedNote.setUid(itemUid);
+        updatedNote.setTitle("New title");
+        updatedNote.setText("New text");
 
         var payload = new NotePayload();
         payload.setTitle("New title");
         payload.setText("New text");
 
-        when(repository.findByUid(itemUid)).thenReturn(existingNote);
+        when(repository.findAndUpdate(eq(itemUid), anyList())).thenReturn(updatedNote);
+
+        // Act
+        var result = noteService.updateNote(payload, itemUid);
+
+        // Assert
+        assertSame(updatedNote, result);
+        verify(repository, never()).findByUid(anyString());
+        verify(repository, never()).update(any(Note.class));
+    }
+
+    @Test
+    void buildNoteUpdate_ShouldOnlySetPayloadFields()
+    {
+        // Arrange
+        var payload = new NotePayload();
+        payload.setText("New text");
 
         // Act
-        var updatedNote = noteService.updateNote(payload, itemUid);
+        var fields = (Document) NoteService.buildNoteUpdate(payload, 1000L).get(0).get("$set");
 
         // Assert
-        assertEquals("New title", updatedNote.getTitle());
-        assertEquals("New text", updatedNote.getText());
-        assertNotNull(updatedNote.getUpdatedAt());
-        assertNotEquals(updatedNote.getUpdatedAt(), updatedNote.getCreatedAt());
-        verify(repository, times(1)).update(any(Note.class));
+        assertEquals(new Document("$literal", "New text"), fields.get("text"));
+        assertEquals(1000L, fields.get("updatedAt"));
+        assertFalse(fields.containsKey("title"));
     }
 
     @Test
@@ -116,26 +173,26 @@ public class NoteServiceTest
     {
         // Arrange
         var uid = "note-123";
-        when(repository.findByUid(uid)).thenReturn(null);
+        when(repository.findAndUpdate(eq(uid), anyList())).thenReturn(null);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> noteService.deleteNote(uid));
-        verify(repository, never()).delete((Note) any());
     }
 
     @Test
-    void deleteNote_ShouldDeleteIfFound()
+    void deleteNote_ShouldSoftDeleteIfFound()
     {
         // Arrange
         var uid = "note-123";
         var note = new Note();
         note.setUid(uid);
-        when(repository.findByUid(uid)).thenReturn(note);
+        when(repository.findAndUpdate(eq(uid), anyList())).thenReturn(note);
 
         // Act
         noteService.deleteNote(uid);
 
         // Assert
-        verify(repository, times(1)).delete(note);
+        verify(repository, never()).findByUid(anyString());
+        verify(repository, never()).delete(note);
     }
 }
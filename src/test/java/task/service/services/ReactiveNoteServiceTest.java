@@ -0,0 +1,161 @@
+package task.service.services;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import task.service.cache.UserListCache;
+import task.service.logging.WriteEventLog;
+import task.service.models.Note;
+import task.service.models.payloads.NotePayload;
+import task.service.repos.ReactiveNoteRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReactiveNoteServiceTest
+{
+    private ReactiveNoteService noteService;
+
+    @Mock
+    ReactiveNoteRepository repository;
+
+    @Mock
+    UserListCache listCache;
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setup()
+    {
+        mocks = MockitoAnnotations.openMocks(this);
+        noteService = new ReactiveNoteService();
+        noteService.repository = repository;
+        noteService.listCache = listCache;
+        noteService.eventLog = new WriteEventLog(); // payload sampling off, the config default is not injected
+    }
+
+    @AfterEach
+    void tearDown() throws Exception
+    {
+        mocks.close();
+    }
+
+    @Test
+    void getAllNotes_ShouldReturnNotesOfUser()
+    {
+        // Arrange
+        var userUid = "user-123";
+        var notes = List.of(new Note(), new Note());
+        when(repository.findByUserUid(userUid)).thenReturn(Uni.createFrom().item(notes));
+
+        // Act
+        var result = noteService.getAllNotes(userUid).await().indefinitely();
+
+        // Assert
+        assertEquals(notes, result);
+        verify(repository, times(1)).findByUserUid(userUid);
+    }
+
+    @Test
+    void createNote_ShouldPersistAndInvalidateListsOfUser()
+    {
+        // Arrange
+        var userUid = "user-123";
+        var payload = new NotePayload("Test Note", "Some text");
+        when(repository.persist(any(Note.class))).thenAnswer(
+                invocation -> Uni.createFrom().item(invocation.<Note>getArgument(0)));
+
+        // Act
+        var createdNote = noteService.createNote(userUid, payload).await().indefinitely();
+
+        // Assert
+        assertNotNull(createdNote.getUid());
+        assertEquals("note", createdNote.getType());
+        assertEquals(userUid, createdNote.getUserUid());
+        assertEquals("Test Note", createdNote.getTitle());
+        verify(listCache, times(1)).invalidateNotes(userUid);
+    }
+
+    @Test
+    void createNote_ShouldNotInvalidateWhenWriteFails()
+    {
+        // Arrange
+        var payload = new NotePayload("Test Note", "Some text");
+        when(repository.persist(any(Note.class))).thenReturn(
+                Uni.createFrom().failure(new IllegalStateException("write failed")));
+
+        // Act
+        assertThrows(IllegalStateException.class,
+                () -> noteService.createNote("user-123", payload).await().indefinitely());
+
+        // Assert
+        verify(listCache, never()).invalidateNotes(anyString());
+    }
+
+    @Test
+    void updateNote_ShouldInvalidateListsOfOwner()
+    {
+        // Arrange
+        var updated = new Note();
+        updated.setUid("note-123");
+        updated.setUserUid("user-123");
+        var payload = new NotePayload();
+        payload.setText("New text");
+        when(repository.findAndUpdate(eq("note-123"), anyList())).thenReturn(Uni.createFrom().item(updated));
+
+        // Act
+        var result = noteService.updateNote(payload, "note-123").await().indefinitely();
+
+        // Assert
+        assertSame(updated, result);
+        verify(repository, times(1)).findAndUpdate(eq("note-123"), anyList());
+        verify(listCache, times(1)).invalidateNotes("user-123");
+    }
+
+    @Test
+    void updateNote_ShouldFailWithNotFoundWhenNoLiveNote()
+    {
+        // Arrange
+        when(repository.findAndUpdate(eq("note-123"), anyList())).thenReturn(Uni.createFrom().nullItem());
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> noteService.updateNote(
+                new NotePayload("Test Note", "Some text"), "note-123").await().indefinitely());
+        verify(listCache, never()).invalidateNotes(anyString());
+    }
+
+    @Test
+    void deleteNote_ShouldSoftDeleteAndInvalidateListsOfOwner()
+    {
+        // Arrange
+        var deleted = new Note();
+        deleted.setUid("note-123");
+        deleted.setUserUid("user-123");
+        when(repository.findAndUpdate(eq("note-123"), anyList())).thenReturn(Uni.createFrom().item(deleted));
+
+        // Act
+        noteService.deleteNote("note-123").await().indefinitely();
+
+        // Assert
+        verify(repository, times(1)).findAndUpdate(eq("note-123"), anyList());
+        verify(repository, never()).delete(any(Note.class));
+        verify(listCache, times(1)).invalidateNotes("user-123");
+    }
+
+    @Test
+    void deleteNote_ShouldFailWithNotFoundWhenNoLiveNote()
+    {
+        // Arrange
+        when(repository.findAndUpdate(eq("note-123"), anyList())).thenReturn(Uni.createFrom().nullItem());
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> noteService.deleteNote("note-123").await().indefinitely());
+        verify(listCache, never()).invalidateNotes(anyString());
+    }
+}
@@ -0,0 +1,162 @@
+package task.service.services;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import task.service.cache.UserListCache;
+import task.service.logging.WriteEventLog;
+import task.service.models.Task;
+import task.service.models.payloads.TaskPayload;
+import task.service.repos.ReactiveTaskRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReactiveTaskServiceTest
+{
+    private ReactiveTaskService taskService;
+
+    @Mock
+    ReactiveTaskRepository repository;
+
+    @Mock
+    UserListCache listCache;
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setup()
+    {
+        mocks = MockitoAnnotations.openMocks(this);
+        taskService = new ReactiveTaskService();
+        taskService.repository = repository;
+        taskService.listCache = listCache;
+        taskService.eventLog = new WriteEventLog(); // payload sampling off, the config default is not injected
+    }
+
+    @AfterEach
+    void tearDown() throws Exception
+    {
+        mocks.close();
+    }
+
+    @Test
+    void getAllTasks_ShouldReturnTasksOfUser()
+    {
+        // Arrange
+        var userUid = "user-123";
+        var tasks = List.of(new Task(), new Task());
+        when(repository.findByUserUid(userUid)).thenReturn(Uni.createFrom().item(tasks));
+
+        // Act
+        var result = taskService.getAllTasks(userUid).await().indefinitely();
+
+        // Assert
+        assertEquals(tasks, result);
+        verify(repository, times(1)).findByUserUid(userUid);
+    }
+
+    @Test
+    void createTask_ShouldPersistAndInvalidateListsOfUser()
+    {
+        // Arrange
+        var userUid = "user-123";
+        var payload = new TaskPayload("Test", "Desc", true, false);
+        when(repository.persist(any(Task.class))).thenAnswer(
+                invocation -> Uni.createFrom().item(invocation.<Task>getArgument(0)));
+
+        // Act
+        var createdTask = taskService.createTask(userUid, payload).await().indefinitely();
+
+        // Assert
+        assertNotNull(createdTask.getUid());
+        assertEquals("task", createdTask.getType());
+        assertEquals(userUid, createdTask.getUserUid());
+        assertEquals("Test", createdTask.getTitle());
+        verify(listCache, times(1)).invalidateTasks(userUid);
+    }
+
+    @Test
+    void createTask_ShouldNotInvalidateWhenWriteFails()
+    {
+        // Arrange
+        var payload = new TaskPayload("Test", "Desc", true, false);
+        when(repository.persist(any(Task.class))).thenReturn(
+                Uni.createFrom().failure(new IllegalStateException("write failed")));
+
+        // Act
+        assertThrows(IllegalStateException.class,
+                () -> taskService.createTask("user-123", payload).await().indefinitely());
+
+        // Assert
+        verify(listCache, never()).invalidateTasks(anyString());
+    }
+
+    @Test
+    void updateTask_ShouldInvalidateListsOfOwner()
+    {
+        // Arrange
+        var updated = new Task();
+        updated.setUid("task-123");
+        updated.setUserUid("user-123");
+        updated.setCompleted(true);
+        var payload = new TaskPayload();
+        payload.setCompleted(true);
+        when(repository.findAndUpdate(eq("task-123"), anyList())).thenReturn(Uni.createFrom().item(updated));
+
+        // Act
+        var result = taskService.updateTask(payload, "task-123").await().indefinitely();
+
+        // Assert
+        assertSame(updated, result);
+        verify(repository, times(1)).findAndUpdate(eq("task-123"), anyList());
+        verify(listCache, times(1)).invalidateTasks("user-123");
+    }
+
+    @Test
+    void updateTask_ShouldFailWithNotFoundWhenNoLiveTask()
+    {
+        // Arrange
+        when(repository.findAndUpdate(eq("task-123"), anyList())).thenReturn(Uni.createFrom().nullItem());
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> taskService.updateTask(
+                new TaskPayload("Test", "Desc", true, false), "task-123").await().indefinitely());
+        verify(listCache, never()).invalidateTasks(anyString());
+    }
+
+    @Test
+    void deleteTask_ShouldSoftDeleteAndInvalidateListsOfOwner()
+    {
+        // Arrange
+        var deleted = new Task();
+        deleted.setUid("task-123");
+        deleted.setUserUid("user-123");
+        when(repository.findAndUpdate(eq("task-123"), anyList())).thenReturn(Uni.createFrom().item(deleted));
+
+        // Act
+        taskService.deleteTask("task-123").await().indefinitely();
+
+        // Assert
+        verify(repository, times(1)).findAndUpdate(eq("task-123"), anyList());
+        verify(repository, never()).delete(any(Task.class));
+        verify(listCache, times(1)).invalidateTasks("user-123");
+    }
+
+    @Test
+    void deleteTask_ShouldFailWithNotFoundWhenNoLiveTask()
+    {
+        // Arrange
+        when(repository.findAndUpdate(eq("task-123"), anyList())).thenReturn(Uni.createFrom().nullItem());
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> taskService.deleteTask("task-123").await().indefinitely());
+        verify(listCache, never()).invalidateTasks(anyString());
+    }
+}
@@ -0,0 +1,54 @@
+package task.service.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import task.service.models.UserStats;
+import task.service.repos.StatsRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class StatsServiceTest
+{
+    private StatsService statsService;
+
+    @Mock
+    StatsRepository repository;
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setup()
+    {
+        mocks = MockitoAnnotations.openMocks(this);
+        statsService = new StatsService();
+        statsService.repository = repository;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception
+    {
+        mocks.close();
+    }
+
+    @Test
+    void getUserStats_ShouldUseSingleAggregation()
+    {
+        // Arrange
+        var userUid = "user-123";
+        var stats = new UserStats();
+        stats.setTasks(3);
+        stats.setNotes(2);
+        when(repository.aggregateUserStats(userUid)).thenReturn(stats);
+
+        // Act
+        var result = statsService.getUserStats(userUid);
+
+        // Assert
+        assertSame(stats, result);
+        verify(repository, times(1)).aggregateUserStats(userUid);
+    }
+}
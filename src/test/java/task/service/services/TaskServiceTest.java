@@ -1,16 +1,33 @@
 package task.service.services;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.WriteModel;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.NotFoundException;
+import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import task.service.cache.ListRevision;
+import task.service.cache.UserListCache;
+import task.service.logging.WriteEventLog;
+import task.service.models.BatchItemResult;
+import task.service.models.PageCursor;
 import task.service.models.Task;
+import task.service.models.TaskSummary;
+import task.service.models.payloads.BatchAction;
+import task.service.models.payloads.BatchOperation;
 import task.service.models.payloads.TaskPayload;
 import task.service.repos.TaskRepository;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +47,10 @@ public class TaskServiceTest
         mocks = MockitoAnnotations.openMocks(this);
         taskService = new TaskService();
         taskService.repository = repository;
+        taskService.listCache = new UserListCache(); // not initialized, so it passes every read through
+        taskService.eventLog = new WriteEventLog(); // payload sampling off, the config default is not injected
+        taskService.syncOverlap = Duration.ofSeconds(5);
+        taskService.deleteRetention = Duration.ofDays(30);
     }
 
     @AfterEach
@@ -47,13 +68,149 @@ public class TaskServiceTest
         when(repository.findByUserUid(userUid)).thenReturn(tasks);
 
         // Act
-        taskService.getAllTasks(userUid);
+        taskService.getAllTasks(userUid, 0);
 
         // Assert
         verify(repository, times(1)).findByUserUid(userUid);
         verify(repository, never()).findByUserUid(argThat(uid -> !uid.equals(userUid)));
     }
 
+    @Test
+    void getTasksPage_ShouldReturnNextCursorWhenMoreItemsExist()
+    {
+        // Arrange
+        var userUid = "user-123";
+        List<Task> tasks = new ArrayList<>();
+        for (var i = 0; i < 3; i++)
+        {
+            var task = new Task();
+            task.setUid("task-" + i);
+            task.setCreatedAt(1000L + i);
+            tasks.add(task);
+        }
+        when(repository.findPageByUserUid(userUid, null, 3)).thenReturn(tasks);
+
+        // Act
+        var page = taskService.getTasksPage(userUid, null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        var cursor = PageCursor.decode(page.getNextCursor());
+        assertEquals(1001L, cursor.getCreatedAt());
+        assertEquals("task-1", cursor.getUid());
+    }
+
+    @Test
+    void getTasksPage_ShouldContinueAfterTaskWithoutCreatedAt()
+    {
+        // Arrange
+        var userUid = "user-123";
+        List<Task> tasks = new ArrayList<>();
+        for (var i = 0; i < 2; i++)
+        {
+            var task = new Task();
+            task.setUid("task-" + i);
+            tasks.add(task);
+        }
+        when(repository.findPageByUserUid(userUid, null, 2)).thenReturn(tasks);
+        when(repository.findPageByUserUid(userUid, new PageCursor(null, "task-0"), 2)).thenReturn(new ArrayList<>());
+
+        // Act
+        var page = taskService.getTasksPage(userUid, null, 1);
+        var nextPage = taskService.getTasksPage(userUid, page.getNextCursor(), 1);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertTrue(nextPage.getItems().isEmpty());
+        verify(repository, times(1)).findPageByUserUid(userUid, new PageCursor(null, "task-0"), 2);
+    }
+
+    @Test
+    void getTasksPage_ShouldDecodeCursorAndEndOnLastPage()
+    {
+        // Arrange
+        var userUid = "user-123";
+        var after = new PageCursor(1001L, "task-1");
+        List<Task> tasks = new ArrayList<>();
+        when(repository.findPageByUserUid(eq(userUid), eq(after), eq(3))).thenReturn(tasks);
+
+        // Act
+        var page = taskService.getTasksPage(userUid, after.encode(), 2);
+
+        // Assert
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        verify(repository, times(1)).findPageByUserUid(eq(userUid), eq(after), eq(3));
+    }
+
+    @Test
+    void getTasksPage_ShouldRejectInvalidCursor()
+    {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksPage("user-123", "not-a-cursor", 2));
+        verify(repository, never()).findPageByUserUid(anyString(), any(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAllTasks_ShouldReturnRepositoryCursor()
+    {
+        // Arrange
+        var userUid = "user-123";
+        MongoCursor<Task> cursor = mock(MongoCursor.class);
+        when(repository.streamByUserUid(userUid)).thenReturn(cursor);
+
+        // Act
+        var result = taskService.streamAllTasks(userUid);
+
+        // Assert
+        assertSame(cursor, result);
+        verify(repository, never()).findByUserUid(anyString());
+    }
+
+    @Test
+    void getTaskSummaries_ShouldUseProjectionQuery()
+    {
+        // Arrange
+        var userUid = "user-123";
+        List<TaskSummary> summaries = new ArrayList<>();
+        when(repository.findSummariesByUserUid(userUid)).thenReturn(summaries);
+
+        // Act
+        var result = taskService.getTaskSummaries(userUid, 0);
+
+        // Assert
+        assertSame(summaries, result.items());
+        verify(repository, times(1)).findSummariesByUserUid(userUid);
+        verify(repository, never()).findByUserUid(anyString());
+    }
+
+    @Test
+    void getTaskSummariesPage_ShouldReturnNextCursorWhenMoreItemsExist()
+    {
+        // Arrange
+        var userUid = "user-123";
+        List<TaskSummary> summaries = new ArrayList<>();
+        for (var i = 0; i < 3; i++)
+        {
+            var summary = new TaskSummary();
+            summary.setUid("task-" + i);
+            summary.setCreatedAt(1000L + i);
+            summaries.add(summary);
+        }
+        when(repository.findSummaryPageByUserUid(userUid, null, 3)).thenReturn(summaries);
+
+        // Act
+        var page = taskService.getTaskSummariesPage(userUid, null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        var cursor = PageCursor.decode(page.getNextCursor());
+        assertEquals(1001L, cursor.getCreatedAt());
+        assertEquals("task-1", cursor.getUid());
+        verify(repository, never()).findPageByUserUid(anyString(), any(), anyInt());
+    }
+
     @Test
     void getCompletedTasksByUser_ShouldCallRepository()
     {
@@ -86,6 +243,43 @@ public class TaskServiceTest
         verify(repository, never()).findPriorityByUserUid(argThat(uid -> !uid.equals(userUid)));
     }
 
+    @Test
+    void getTasksSince_ShouldReturnChangesDeletionsAndEarlierWatermark()
+    {
+        // Arrange
+        var userUid = "user-123";
+        var since = System.currentTimeMillis() - 60000;
+        var changed = new Task();
+        changed.setUid("task-1");
+        var deleted = new Task();
+        deleted.setUid("task-9");
+        deleted.setDeletedAt(new Date());
+        when(repository.findUpdatedSince(userUid, since)).thenReturn(List.of(changed, deleted));
+        var before = System.currentTimeMillis();
+
+        // Act
+        var delta = taskService.getTasksSince(userUid, since);
+
+        // Assert
+        assertEquals(List.of(changed), delta.getItems());
+        assertEquals(List.of("task-9"), delta.getDeletedUids());
+        assertTrue(delta.getWatermark() >= before - 5000);
+        assertTrue(delta.getWatermark() <= System.currentTimeMillis() - 5000);
+        verify(repository, never()).findByUserUid(anyString());
+    }
+
+    @Test
+    void getTasksSince_ShouldRejectWatermarkOlderThanRetention()
+    {
+        // Arrange
+        var since = System.currentTimeMillis() - Duration.ofDays(31).toMillis();
+
+        // Act & Assert
+        var exception = assertThrows(ClientErrorException.class, () -> taskService.getTasksSince("user-123", since));
+        assertEquals(410, exception.getResponse().getStatus());
+        verify(repository, never()).findUpdatedSince(anyString(), anyLong());
+    }
+
     @Test
     void createTask_ShouldPersistAndReturnTask()
     {
@@ -99,13 +293,6 @@ public class TaskServiceTest
 
         doAnswer(invocation -> null).when(repository).persist(any(Task.class));
 
-        when(repository.findByUid(anyString())).thenAnswer(invocation -> {
-            var task = new Task();
-            task.setUid(invocation.getArgument(0));
-            task.setTitle("Test");
-            return task;
-        });
-
         // Act
         var createdTask = taskService.createTask(userUid, payload);
 
@@ -115,34 +302,208 @@ public class TaskServiceTest
         assertEquals(userUid, createdTask.getUserUid());
         assertEquals("Test", createdTask.getTitle());
         verify(repository, times(1)).persist(any(Task.class));
-        verify(repository, times(1)).findByUid(eq(createdTask.getUid()));
+        verify(repository, never()).findByUid(anyString());
+    }
+
+    @Test
+    void getTasksRevision_ShouldDeriveRevisionFromItems()
+    {
+        // Arrange
+        var userUid = "user-123";
+        when(repository.findRevision(userUid)).thenReturn(new ListRevision(3, 1000L));
+
+        // Act
+        var revision = taskService.getTasksRevision(userUid);
+
+        // Assert
+        assertEquals(new ListRevision(3, 1000L), revision);
+        verify(repository, never()).findByUserUid(anyString());
     }
 
     @Test
-    void updateTask_ShouldUpdateExistingTask()
+    void updateTask_ShouldUpdateInSingleRoundTrip()
     {
         // Arrange
         var itemUid = "task-123";
-        var existingTask = new Task();
-        existingTask.setUid(itemUid);
-        existingTask.setTitle("Old title");
-        existingTask.setDescription("Desc");
-        existingTask.setCompleted(false);
+        var updatedTask = new Task();
+        updatedTask.setUid(itemUid);
+        updatedTask.setTitle("New title");
+        updatedTask.setCompleted(true);
+        updatedTask.setCompletedAt(1000L);
 
         var payload = new TaskPayload();
         payload.setTitle("New title");
         payload.setCompleted(true);
 
-        when(repository.findByUid(itemUid)).thenReturn(existingTask);
+        when(repository.findAndUpdate(eq(itemUid), anyList())).thenReturn(updatedTask);
+
+        // Act
+        var result = taskService.updateTask(payload, itemUid);
+
+        // Assert
+        assertSame(updatedTask, result);
+        verify(repository, times(1)).findAndUpdate(eq(itemUid), anyList());
+        verify(repository, never()).findByUid(anyString());
+        verify(repository, never()).update(any(Task.class));
+    }
+
+    @Test
+    void updateTask_ShouldThrowIfNotFound()
+    {
+        // Arrange
+        var payload = new TaskPayload();
+        payload.setTitle("New title");
+        when(repository.findAndUpdate(eq("task-123"), anyList())).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> taskService.updateTask(payload, "task-123"));
+    }
+
+    @Test
+    void buildTaskUpdate_ShouldOnlySetPayloadFields()
+    {
+        // Arrange
+        var payload = new TaskPayload();
+        payload.setTitle("$title");
+        payload.setCompleted(true);
+
+        // Act
+        var fields = (Document) TaskService.buildTaskUpdate(payload, 1000L).get(0).get("$set");
+
+        // Assert
+        assertEquals(new Document("$literal", "$title"), fields.get("title"));
+        assertEquals(true, fields.get("completed"));
+        assertEquals(new Document("$ifNull", List.of("$completedAt", 1000L)), fields.get("completedAt"));
+        assertEquals(1000L, fields.get("updatedAt"));
+        assertFalse(fields.containsKey("description"));
+        assertFalse(fields.containsKey("priority"));
+    }
+
+    @Test
+    void buildTaskUpdate_ShouldClearCompletedAtWhenReopened()
+    {
+        // Arrange
+        var payload = new TaskPayload();
+        payload.setCompleted(false);
 
         // Act
-        var updatedTask = taskService.updateTask(payload, itemUid);
+        var fields = (Document) TaskService.buildTaskUpdate(payload, 1000L).get(0).get("$set");
 
         // Assert
-        assertEquals("New title", updatedTask.getTitle());
-        assertTrue(updatedTask.isCompleted());
-        assertNotNull(updatedTask.getCompletedAt());
-        verify(repository, times(1)).update(any(Task.class));
+        assertEquals(false, fields.get("completed"));
+        assertTrue(fields.containsKey("completedAt"));
+        assertNull(fields.get("completedAt"));
+    }
+
+    @Test
+    void applyTaskBatch_ShouldWriteValidOperationsInOneBulkWrite()
+    {
+        // Arrange
+        var userUid = "user-123";
+
+        var create = new BatchOperation<TaskPayload>();
+        create.setAction(BatchAction.CREATE);
+        create.setPayload(new TaskPayload("Title", "Desc", false, false));
+
+        var invalidUpdate = new BatchOperation<TaskPayload>();
+        invalidUpdate.setAction(BatchAction.UPDATE);
+        invalidUpdate.setItemUid("task-1");
+
+        var delete = new BatchOperation<TaskPayload>();
+        delete.setAction(BatchAction.DELETE);
+        delete.setItemUid("task-2");
+
+        var writeResult = mock(BulkWriteResult.class);
+        when(writeResult.wasAcknowledged()).thenReturn(true);
+        when(writeResult.getInsertedCount()).thenReturn(1);
+        when(writeResult.getMatchedCount()).thenReturn(1);
+        when(repository.bulkWrite(anyList())).thenReturn(writeResult);
+        when(repository.findLiveUids(userUid, List.of("task-2"))).thenReturn(Set.of("task-2"));
+
+        // Act
+        var result = taskService.applyTaskBatch(userUid, List.of(create, invalidUpdate, delete));
+
+        // Assert
+        assertEquals(3, result.getItems().size());
+        assertEquals(BatchItemResult.ACCEPTED, result.getItems().get(0).getStatus());
+        assertNotNull(result.getItems().get(0).getItemUid());
+        assertEquals(BatchItemResult.INVALID, result.getItems().get(1).getStatus());
+        assertEquals(BatchItemResult.ACCEPTED, result.getItems().get(2).getStatus());
+        assertEquals(1, result.getInsertedCount());
+        assertEquals(1, result.getDeletedCount());
+        verify(repository, times(1)).bulkWrite(argThat((List<WriteModel<Task>> models) -> models.size() == 2));
+        verify(repository, never()).delete((Task) any());
+        verify(repository, times(1)).findLiveUids(userUid, List.of("task-2"));
+    }
+
+    @Test
+    void applyTaskBatch_ShouldReportDeleteOfMissingItemAsNotFound()
+    {
+        // Arrange
+        var userUid = "user-123";
+
+        var delete = new BatchOperation<TaskPayload>();
+        delete.setAction(BatchAction.DELETE);
+        delete.setItemUid("task-1");
+
+        var missingDelete = new BatchOperation<TaskPayload>();
+        missingDelete.setAction(BatchAction.DELETE);
+        missingDelete.setItemUid("missing-task");
+
+        var writeResult = mock(BulkWriteResult.class);
+        when(writeResult.wasAcknowledged()).thenReturn(true);
+        when(writeResult.getMatchedCount()).thenReturn(1);
+        when(writeResult.getModifiedCount()).thenReturn(1);
+        when(repository.bulkWrite(anyList())).thenReturn(writeResult);
+        when(repository.findLiveUids(userUid, List.of("task-1", "missing-task"))).thenReturn(Set.of("task-1"));
+
+        // Act
+        var result = taskService.applyTaskBatch(userUid, List.of(delete, missingDelete));
+
+        // Assert
+        assertEquals(BatchItemResult.ACCEPTED, result.getItems().get(0).getStatus());
+        assertEquals(BatchItemResult.NOT_FOUND, result.getItems().get(1).getStatus());
+        assertEquals(1, result.getMatchedCount());
+        assertEquals(1, result.getDeletedCount());
+        verify(repository, times(1)).bulkWrite(argThat((List<WriteModel<Task>> models) -> models.size() == 1));
+    }
+
+    @Test
+    void applyTaskBatch_ShouldReportOperationsAfterDeleteOfSameItemAsNotFound()
+    {
+        // Arrange
+        var userUid = "user-123";
+
+        var update = new BatchOperation<TaskPayload>();
+        update.setAction(BatchAction.UPDATE);
+        update.setItemUid("task-1");
+        update.setPayload(new TaskPayload("Title", "Desc", true, false));
+
+        var delete = new BatchOperation<TaskPayload>();
+        delete.setAction(BatchAction.DELETE);
+        delete.setItemUid("task-1");
+
+        var lateUpdate = new BatchOperation<TaskPayload>();
+        lateUpdate.setAction(BatchAction.UPDATE);
+        lateUpdate.setItemUid("task-1");
+        lateUpdate.setPayload(new TaskPayload("Title", "Desc", false, false));
+
+        var writeResult = mock(BulkWriteResult.class);
+        when(writeResult.wasAcknowledged()).thenReturn(true);
+        when(writeResult.getMatchedCount()).thenReturn(2);
+        when(repository.bulkWrite(anyList())).thenReturn(writeResult);
+        when(repository.findLiveUids(userUid, List.of("task-1"))).thenReturn(Set.of("task-1"));
+
+        // Act
+        var result = taskService.applyTaskBatch(userUid, List.of(update, delete, lateUpdate));
+
+        // Assert
+        // the update after the delete is not written, whatever order the server applies the others in
+        assertEquals(BatchItemResult.ACCEPTED, result.getItems().get(0).getStatus());
+        assertEquals(BatchItemResult.ACCEPTED, result.getItems().get(1).getStatus());
+        assertEquals(BatchItemResult.NOT_FOUND, result.getItems().get(2).getStatus());
+        assertEquals(1, result.getDeletedCount());
+        verify(repository, times(1)).bulkWrite(argThat((List<WriteModel<Task>> models) -> models.size() == 2));
     }
 
     @Test
@@ -150,10 +511,31 @@ public class TaskServiceTest
     {
         // Arrange
         var uid = "task-123";
-        when(repository.findByUid(uid)).thenReturn(null);
+        when(repository.findAndUpdate(eq(uid), anyList())).thenReturn(null);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> taskService.deleteTask(uid));
+    }
+
+    @Test
+    void deleteTask_ShouldSoftDeleteInSingleRoundTrip()
+    {
+        // Arrange
+        var uid = "task-123";
+        var task = new Task();
+        task.setUid(uid);
+        task.setUserUid("user-123");
+        when(repository.findAndUpdate(eq(uid), anyList())).thenReturn(task);
+
+        // Act
+        taskService.deleteTask(uid);
+
+        // Assert
+        verify(repository, times(1)).findAndUpdate(eq(uid), argThat(pipeline -> {
+            var fields = (Document) pipeline.get(0).get("$set");
+            return fields.get("deletedAt") instanceof Date && fields.get("updatedAt") instanceof Long;
+        }));
+        verify(repository, never()).findByUid(anyString());
         verify(repository, never()).delete((Task) any());
     }
 }
@@ -0,0 +1,78 @@
+package task.service.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import jakarta.interceptor.InvocationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import task.service.cache.ListRevision;
+import task.service.cache.RevisionedList;
+import task.service.models.Task;
+import task.service.services.TaskService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TracedLayerInterceptorTest
+{
+    private InMemorySpanExporter exporter;
+    private SdkTracerProvider tracerProvider;
+    private TracedLayerInterceptor interceptor;
+
+    @BeforeEach
+    void setup()
+    {
+        exporter = InMemorySpanExporter.create();
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+        interceptor = new TracedLayerInterceptor();
+        interceptor.tracer = tracerProvider.get("test");
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        tracerProvider.close();
+    }
+
+    @Test
+    void trace_ShouldTagLayerUserAndResultSize() throws Exception
+    {
+        // Arrange
+        var context = mock(InvocationContext.class);
+        when(context.getMethod()).thenReturn(TaskService.class.getMethod("getAllTasks", String.class, long.class));
+        when(context.getParameters()).thenReturn(new Object[] {"user-123", 0L});
+        when(context.proceed()).thenReturn(new RevisionedList<>(List.of(new Task(), new Task()), ListRevision.UNKNOWN));
+
+        // Act
+        interceptor.trace(context);
+
+        // Assert
+        var span = exporter.getFinishedSpanItems().get(0);
+        assertEquals("TaskService.getAllTasks", span.getName());
+        assertEquals("service", span.getAttributes().get(AttributeKey.stringKey("task.layer")));
+        assertEquals("user-123", span.getAttributes().get(AttributeKey.stringKey("task.user_uid")));
+        assertEquals(2L, span.getAttributes().get(AttributeKey.longKey("task.result.size")));
+    }
+
+    @Test
+    void trace_ShouldRecordFailure() throws Exception
+    {
+        // Arrange
+        var context = mock(InvocationContext.class);
+        when(context.getMethod()).thenReturn(TaskService.class.getMethod("deleteTask", String.class));
+        when(context.getParameters()).thenReturn(new Object[] {"task-1"});
+        when(context.proceed()).thenThrow(new RuntimeException());
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> interceptor.trace(context));
+        var span = exporter.getFinishedSpanItems().get(0);
+        assertEquals(StatusCode.ERROR, span.getStatus().getStatusCode());
+        assertNull(span.getAttributes().get(AttributeKey.stringKey("task.user_uid")));
+    }
+}
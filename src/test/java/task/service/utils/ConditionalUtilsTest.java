@@ -0,0 +1,49 @@
+package task.service.utils;
+
+import org.junit.jupiter.api.Test;
+import task.service.cache.ListRevision;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConditionalUtilsTest
+{
+    private static final ListRevision REVISION = new ListRevision(3, 1000L);
+
+    @Test
+    void listTag_ShouldDifferForEveryPageAndView()
+    {
+        // Act
+        var firstPage = ConditionalUtils.listTag(REVISION, "FULL", 50, null);
+        var nextPage = ConditionalUtils.listTag(REVISION, "FULL", 50, "MTAwMHx0YXNr");
+        var summaries = ConditionalUtils.listTag(REVISION, "SUMMARY", 50, null);
+        var emptyCursor = ConditionalUtils.listTag(REVISION, "FULL", 50, "");
+
+        // Assert
+        assertNotEquals(firstPage, nextPage);
+        assertNotEquals(firstPage, summaries);
+        assertNotEquals(firstPage, emptyCursor);
+    }
+
+    @Test
+    void listTag_ShouldBeStableForSameRevisionAndParameters()
+    {
+        // Act
+        var first = ConditionalUtils.listTag(REVISION, "FULL", 50, "MTAwMHx0YXNr");
+        var second = ConditionalUtils.listTag(new ListRevision(3, 1000L), "FULL", 50, "MTAwMHx0YXNr");
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals("3.3e8.RlVMTA.NTA.TVRBd01IeDBZWE5y", first.getValue());
+    }
+
+    @Test
+    void listTag_ShouldChangeWithRevision()
+    {
+        // Act
+        var before = ConditionalUtils.listTag(REVISION, "FULL", null, null);
+        var after = ConditionalUtils.listTag(new ListRevision(4, 2000L), "FULL", null, null);
+
+        // Assert
+        assertNotEquals(before, after);
+    }
+}
@@ -0,0 +1,123 @@
+package task.service.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import task.service.json.JsonCustomizer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WarmUpTest
+{
+    private record Received(String method, String path)
+    {
+    }
+
+    private Vertx vertx;
+    private HttpServer server;
+    private WarmUp warmUp;
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setup() throws Exception
+    {
+        vertx = Vertx.vertx();
+        server = vertx.createHttpServer().requestHandler(this::answer).listen(0, "127.0.0.1").toCompletionStage()
+                .toCompletableFuture().get();
+
+        warmUp = new WarmUp();
+        warmUp.vertx = vertx;
+        warmUp.objectMapper = JsonCustomizer.configure(new ObjectMapper());
+        warmUp.rounds = 20;
+        warmUp.timeBudget = Duration.ofSeconds(30);
+        warmUp.port = server.actualPort();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception
+    {
+        vertx.close().toCompletionStage().toCompletableFuture().get();
+    }
+
+    @Test
+    void onStart_ShouldBeFinishedRightAwayWhenDisabled()
+    {
+        // Arrange
+        warmUp.enabled = false;
+
+        // Act
+        warmUp.onStart(null);
+
+        // Assert
+        assertTrue(warmUp.isFinished());
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void run_ShouldSendTheReadsOfOneTenantOverHttp()
+    {
+        // Arrange
+        warmUp.enabled = true;
+
+        // Act
+        warmUp.run();
+
+        // Assert
+        assertTrue(warmUp.isFinished());
+
+        var tenants = received.stream().filter(request -> !request.path().startsWith("/q/"))
+                .map(request -> request.path().replaceAll(".*/(warm-up-[^/?]+).*", "$1")).collect(Collectors.toSet());
+        assertEquals(1, tenants.size());
+        assertTrue(tenants.iterator().next().startsWith("warm-up-"));
+
+        var paths = received.stream().map(request -> request.method() + " " + request.path().replaceAll(
+                "warm-up-[^/?]+", "{uid}")).collect(Collectors.toSet());
+        assertTrue(paths.containsAll(Set.of("GET /task/all/{uid}", "GET /task/all/{uid}/stream",
+                "GET /task/all/{uid}?limit=50", "GET /note/since/{uid}?since=0", "GET /stats/{uid}")));
+    }
+
+    @Test
+    void run_ShouldNeverWrite()
+    {
+        // Arrange
+        warmUp.enabled = true;
+
+        // Act
+        warmUp.run();
+
+        // Assert
+        assertTrue(received.stream().allMatch(request -> request.method().equals("GET")));
+    }
+
+    @Test
+    void run_ShouldFinishWithinBudgetWhenServerIsDown() throws Exception
+    {
+        // Arrange
+        warmUp.enabled = true;
+        warmUp.timeBudget = Duration.ofMillis(300);
+        server.close().toCompletionStage().toCompletableFuture().get();
+
+        // Act
+        warmUp.run();
+
+        // Assert
+        assertTrue(warmUp.isFinished());
+    }
+
+    // the tenant has no items, every read answers with an empty list
+    private void answer(final HttpServerRequest request)
+    {
+        received.add(new Received(request.method().name(), request.uri()));
+        request.response().putHeader("Content-Type", "application/json").end("{\"code\":200,\"data\":[]}");
+    }
+}